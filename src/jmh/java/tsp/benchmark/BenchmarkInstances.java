@@ -0,0 +1,89 @@
+package tsp.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+
+import tsp.instance.AbstractInstance;
+import tsp.instance.AdjacencyMatrixInstance;
+import tsp.instance.BitMatrixInstance;
+import tsp.instance.CompressedSparseRowInstance;
+import tsp.instance.EdgeListInstance;
+import tsp.instance.reader.MappedInstanceFileReader;
+
+/***
+ * Instances used by the benchmarks: bundled DIMACS files or seeded random
+ * graphs named random_[vertices], converted to the requested representation
+ * (matrix, bitMatrix, edgeList or csr).
+ */
+public final class BenchmarkInstances {
+
+	private static final String RANDOM_PREFIX = "random_";
+	private static final int RANDOM_AVERAGE_DEGREE = 20;
+	private static final long RANDOM_SEED = 225988;
+
+	private BenchmarkInstances() {
+	}
+
+	public static AbstractInstance load(String name, String representation) throws IOException {
+		CompressedSparseRowInstance graph = name.startsWith(RANDOM_PREFIX)
+				? generateRandom(Integer.parseInt(name.substring(RANDOM_PREFIX.length())))
+				: CompressedSparseRowInstance.of(readBundled(name));
+
+		AbstractInstance instance;
+		switch (representation) {
+		case "matrix":
+			instance = new AdjacencyMatrixInstance(graph.getSize());
+			break;
+		case "bitMatrix":
+			instance = new BitMatrixInstance(graph.getSize());
+			break;
+		case "edgeList":
+			instance = new EdgeListInstance(graph.getSize());
+			break;
+		case "csr":
+			return graph;
+		default:
+			throw new IllegalArgumentException("Unknown representation " + representation);
+		}
+
+		for (int e = 0; e < graph.getEdgeCount(); e++) {
+			instance.setConnected(graph.getEdgeFrom(e), graph.getEdgeTo(e), true);
+		}
+		instance.setName(name);
+
+		return instance;
+	}
+
+	private static AbstractInstance readBundled(String name) throws IOException {
+		Path file = Files.createTempFile(name, ".col");
+		try (InputStream stream = BenchmarkInstances.class.getClassLoader()
+				.getResourceAsStream("input/" + name + ".col")) {
+			if (stream == null) {
+				throw new IllegalArgumentException("No bundled instance " + name);
+			}
+			Files.copy(stream, file, StandardCopyOption.REPLACE_EXISTING);
+
+			return new MappedInstanceFileReader().read(file.toString());
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private static CompressedSparseRowInstance generateRandom(int size) {
+		Random random = new Random(RANDOM_SEED);
+
+		int edgeCount = size * RANDOM_AVERAGE_DEGREE / 2;
+		int[] edgeEndpoints = new int[2 * edgeCount];
+		for (int i = 0; i < edgeEndpoints.length; i++) {
+			edgeEndpoints[i] = random.nextInt(size);
+		}
+
+		CompressedSparseRowInstance graph = new CompressedSparseRowInstance(size, edgeEndpoints, edgeCount);
+		graph.setName(RANDOM_PREFIX + size);
+		return graph;
+	}
+}
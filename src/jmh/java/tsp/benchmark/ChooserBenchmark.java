@@ -0,0 +1,65 @@
+package tsp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import tsp.algorithm.tournament.Chooser;
+import tsp.algorithm.tournament.RuletteWheelChooser;
+import tsp.algorithm.tournament.TournamentChooser;
+
+/***
+ * Selection of all parents of one generation from an evaluated population,
+ * including the per-population reset.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChooserBenchmark {
+
+	@Param({ "tournament", "rouletteWheel" })
+	public String chooserType;
+
+	private Chooser chooser;
+
+	@Setup
+	public void setUp(InstanceState state) {
+		switch (chooserType) {
+		case "tournament":
+			chooser = new TournamentChooser(state.fitnessCalculator, 3);
+			break;
+		case "rouletteWheel":
+			chooser = new RuletteWheelChooser(state.fitnessCalculator);
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown chooser " + chooserType);
+		}
+
+		for (int i = 0; i < state.population.getSize(); i++) {
+			state.fitnessCalculator.evaluate(state.population.getChromosome(i));
+		}
+	}
+
+	@Benchmark
+	public void chooseGeneration(InstanceState state, Blackhole blackhole) {
+		chooser.resetForNewPopulation();
+
+		for (int i = 0; i < state.population.getSize(); i++) {
+			blackhole.consume(chooser.choose(state.population));
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package tsp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import tsp.algorithm.crossover.CrossoverOperator;
+import tsp.algorithm.crossover.MultiplePointCrossoverOperator;
+import tsp.algorithm.crossover.SinglePointCrossoverOperator;
+import tsp.algorithm.crossover.TwoPointCrossoverOperator;
+import tsp.algorithm.individual.Chromosome;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CrossoverBenchmark {
+
+	@Param({ "singlePoint", "twoPoint", "multiplePoint" })
+	public String operator;
+
+	private CrossoverOperator crossoverOperator;
+
+	private Chromosome firstParent;
+	private Chromosome secondParent;
+	private Chromosome firstChild;
+	private Chromosome secondChild;
+
+	@Setup
+	public void setUp(InstanceState state) {
+		switch (operator) {
+		case "singlePoint":
+			crossoverOperator = new SinglePointCrossoverOperator();
+			break;
+		case "twoPoint":
+			crossoverOperator = new TwoPointCrossoverOperator();
+			break;
+		case "multiplePoint":
+			crossoverOperator = new MultiplePointCrossoverOperator(4);
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown crossover operator " + operator);
+		}
+
+		firstParent = state.randomChromosome();
+		secondParent = state.randomChromosome();
+		firstChild = new Chromosome(state.instance.getSize());
+		secondChild = new Chromosome(state.instance.getSize());
+	}
+
+	@Benchmark
+	public void crossoverInPlace(Blackhole blackhole) {
+		crossoverOperator.crossover(firstParent, secondParent, firstChild, secondChild);
+		blackhole.consume(firstChild);
+		blackhole.consume(secondChild);
+	}
+
+	@Benchmark
+	public Object crossoverAllocating() {
+		return crossoverOperator.crossover(firstParent, secondParent);
+	}
+}
@@ -0,0 +1,59 @@
+package tsp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tsp.algorithm.individual.Chromosome;
+
+/***
+ * Fitness evaluation. The cached evaluation is dropped before each call, except
+ * in calculateFitnessCached, so every call scores the whole chromosome.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FitnessBenchmark {
+
+	private Chromosome chromosome;
+
+	@Setup
+	public void setUp(InstanceState state) {
+		chromosome = state.randomChromosome();
+	}
+
+	@Benchmark
+	public double calculateFitness(InstanceState state) {
+		chromosome.invalidateEvaluation();
+		return state.fitnessCalculator.calculateFitness(chromosome);
+	}
+
+	@Benchmark
+	public double calculateFitnessCached(InstanceState state) {
+		return state.fitnessCalculator.calculateFitness(chromosome);
+	}
+
+	@Benchmark
+	public int countColors(InstanceState state) {
+		chromosome.invalidateEvaluation();
+		return state.fitnessCalculator.countColors(chromosome);
+	}
+
+	@Benchmark
+	public int countInvalidEdges(InstanceState state) {
+		chromosome.invalidateEvaluation();
+		return state.fitnessCalculator.countInvalidEdges(chromosome);
+	}
+}
@@ -0,0 +1,78 @@
+package tsp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tsp.algorithm.Algorithm;
+import tsp.algorithm.crossover.MultiplePointCrossoverOperator;
+import tsp.algorithm.individual.PhenotypeInterpreter;
+import tsp.algorithm.inversion.InversionOperator;
+import tsp.algorithm.mutation.HybridMutationOperator;
+import tsp.algorithm.population.Population;
+import tsp.algorithm.tournament.TournamentChooser;
+import tsp.algorithm.util.FitnessCalculator;
+
+/***
+ * One full generation of {@link Algorithm} with the Demo configuration,
+ * alternating between two population buffers like the algorithm itself does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GenerationBenchmark {
+
+	@Param({ "1", "4" })
+	public int parallelism;
+
+	private Algorithm algorithm;
+	private Population[] buffers;
+	private int generation;
+
+	@Setup
+	public void setUp(InstanceState state) {
+		PhenotypeInterpreter phenotypeInterpreter = state.phenotypeInterpreter;
+		FitnessCalculator fitnessCalculator = new FitnessCalculator(phenotypeInterpreter, state.instance);
+
+		algorithm = new Algorithm.AlgorithmBuilder().phenotypeInterpreter(phenotypeInterpreter)
+				.chooser(new TournamentChooser(fitnessCalculator, 3)).eliteSelection(true)
+				.crossoverOperator(new MultiplePointCrossoverOperator(4)).crossoverRate(0.7)
+				.mutationOperator(new HybridMutationOperator(phenotypeInterpreter, state.instance))
+				.mutationRate(0.5).inversionOperator(new InversionOperator()).inversionRate(0.7)
+				.populationSize(InstanceState.POPULATION_SIZE).parallelism(parallelism).build();
+
+		algorithm.initialize(state.instance);
+		buffers = new Population[] { algorithm.generateInitialPopulation(state.instance),
+				new Population(InstanceState.POPULATION_SIZE, state.instance.getSize()) };
+		generation = 0;
+	}
+
+	@TearDown
+	public void tearDown() {
+		algorithm.close();
+	}
+
+	@Benchmark
+	public Population evolveGeneration() {
+		Population population = buffers[generation % 2];
+		Population evolvedPopulation = buffers[(generation + 1) % 2];
+
+		algorithm.evolveGeneration(population, evolvedPopulation, generation++);
+
+		return evolvedPopulation;
+	}
+}
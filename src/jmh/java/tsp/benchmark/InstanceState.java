@@ -0,0 +1,46 @@
+package tsp.benchmark;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import tsp.algorithm.individual.Chromosome;
+import tsp.algorithm.individual.PhenotypeInterpreter;
+import tsp.algorithm.population.Population;
+import tsp.algorithm.util.FitnessCalculator;
+import tsp.instance.AbstractInstance;
+
+/***
+ * Instance, interpreter, fitness calculator and random population shared by
+ * the algorithm benchmarks, parameterised by instance name. The instance is
+ * loaded in the compressed form since every component reads only its
+ * compressed view, see {@link RepresentationBenchmark} for the others.
+ */
+@State(Scope.Benchmark)
+public class InstanceState {
+
+	public static final int POPULATION_SIZE = 100;
+
+	@Param({ "queen7_7", "le450_15b", "random_5000" })
+	public String instanceName;
+
+	public AbstractInstance instance;
+	public PhenotypeInterpreter phenotypeInterpreter;
+	public FitnessCalculator fitnessCalculator;
+	public Population population;
+
+	@Setup
+	public void setUp() throws IOException {
+		instance = BenchmarkInstances.load(instanceName, "csr");
+		phenotypeInterpreter = new PhenotypeInterpreter();
+		fitnessCalculator = new FitnessCalculator(phenotypeInterpreter, instance);
+		population = Population.generateInitialPopulation(phenotypeInterpreter, POPULATION_SIZE, instance);
+	}
+
+	public Chromosome randomChromosome() {
+		return phenotypeInterpreter.generateRandomChromosome(instance.getSize());
+	}
+}
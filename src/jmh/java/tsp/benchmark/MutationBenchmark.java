@@ -0,0 +1,92 @@
+package tsp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tsp.algorithm.individual.Chromosome;
+import tsp.algorithm.inversion.InversionOperator;
+import tsp.algorithm.mutation.FixIllegalGenesMutationOperator;
+import tsp.algorithm.mutation.HybridMutationOperator;
+import tsp.algorithm.mutation.MutationOperator;
+import tsp.algorithm.mutation.RandomizeGeneMutationOperator;
+import tsp.algorithm.mutation.RandomizeIllegalGenesMutationOperator;
+
+/***
+ * Mutation and inversion. Every call first restores the working chromosome from
+ * the same evaluated random template, so operators always see the same amount
+ * of conflicts. The restore is a plain array copy, measured alone by
+ * restoreOnly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MutationBenchmark {
+
+	@Param({ "randomizeGene", "randomizeIllegalGenes", "fixIllegalGenes", "hybrid" })
+	public String operator;
+
+	private MutationOperator mutationOperator;
+	private InversionOperator inversionOperator;
+
+	private Chromosome template;
+	private Chromosome chromosome;
+
+	@Setup
+	public void setUp(InstanceState state) {
+		switch (operator) {
+		case "randomizeGene":
+			mutationOperator = new RandomizeGeneMutationOperator(state.phenotypeInterpreter, state.instance);
+			break;
+		case "randomizeIllegalGenes":
+			mutationOperator = new RandomizeIllegalGenesMutationOperator(state.phenotypeInterpreter, state.instance);
+			break;
+		case "fixIllegalGenes":
+			mutationOperator = new FixIllegalGenesMutationOperator(state.phenotypeInterpreter, state.instance);
+			break;
+		case "hybrid":
+			mutationOperator = new HybridMutationOperator(state.phenotypeInterpreter, state.instance);
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown mutation operator " + operator);
+		}
+		inversionOperator = new InversionOperator();
+
+		template = state.randomChromosome();
+		state.fitnessCalculator.evaluate(template);
+		chromosome = new Chromosome(template);
+	}
+
+	@Benchmark
+	public Chromosome mutate() {
+		chromosome.copyFrom(template);
+		mutationOperator.mutate(chromosome);
+		return chromosome;
+	}
+
+	@Benchmark
+	public Chromosome inverse() {
+		chromosome.copyFrom(template);
+		inversionOperator.inverse(chromosome);
+		return chromosome;
+	}
+
+	@Benchmark
+	public Chromosome restoreOnly() {
+		chromosome.copyFrom(template);
+		return chromosome;
+	}
+}
@@ -0,0 +1,72 @@
+package tsp.benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tsp.instance.AbstractInstance;
+import tsp.instance.CompressedSparseRowInstance;
+
+/***
+ * Operations which depend on the instance representation: adjacency queries
+ * and conversion to the compressed view every algorithm component works on.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RepresentationBenchmark {
+
+	private static final int QUERY_COUNT = 1024;
+	private static final long QUERY_SEED = 225988;
+
+	@Param({ "queen7_7", "le450_15b", "random_5000" })
+	public String instanceName;
+
+	@Param({ "matrix", "bitMatrix", "edgeList", "csr" })
+	public String representation;
+
+	private AbstractInstance instance;
+	private int[] queries;
+
+	@Setup
+	public void setUp() throws IOException {
+		instance = BenchmarkInstances.load(instanceName, representation);
+
+		Random random = new Random(QUERY_SEED);
+		queries = new int[2 * QUERY_COUNT];
+		for (int i = 0; i < queries.length; i++) {
+			queries[i] = random.nextInt(instance.getSize());
+		}
+	}
+
+	@Benchmark
+	public int areConnected() {
+		int connected = 0;
+		for (int i = 0; i < queries.length; i += 2) {
+			if (instance.areConnected(queries[i], queries[i + 1])) {
+				connected++;
+			}
+		}
+		return connected;
+	}
+
+	@Benchmark
+	public CompressedSparseRowInstance compress() {
+		return CompressedSparseRowInstance.of(instance);
+	}
+}
@@ -11,6 +11,8 @@ import tsp.algorithm.crossover.TwoPointCrossoverOperator;
 import tsp.algorithm.individual.Chromosome;
 import tsp.algorithm.individual.PhenotypeInterpreter;
 import tsp.algorithm.inversion.InversionOperator;
+import tsp.algorithm.localsearch.LocalSearchOperator;
+import tsp.algorithm.localsearch.TabucolLocalSearchOperator;
 import tsp.algorithm.mutation.FixIllegalGenesMutationOperator;
 import tsp.algorithm.mutation.HybridMutationOperator;
 import tsp.algorithm.mutation.MutationOperator;
@@ -21,7 +23,7 @@ import tsp.algorithm.tournament.RuletteWheelChooser;
 import tsp.algorithm.tournament.TournamentChooser;
 import tsp.algorithm.util.FitnessCalculator;
 import tsp.instance.AbstractInstance;
-import tsp.instance.reader.InstanceFileReader;
+import tsp.instance.reader.MappedInstanceFileReader;
 
 public class Demo {
 
@@ -29,7 +31,7 @@ public class Demo {
 
 	public static void main(String[] args) throws IOException {
 
-		InstanceFileReader instanceFileReader = new InstanceFileReader();
+		MappedInstanceFileReader instanceFileReader = new MappedInstanceFileReader();
 		AbstractInstance instance = instanceFileReader.read(getPath("input/queen7_7.col"));
 		// AbstractInstance instance =
 		// instanceFileReader.read(getPath("input/le450_15b.col)");
@@ -71,6 +73,12 @@ public class Demo {
 //		CrossoverOperator crossoverOperator = new TwoPointCrossoverOperator();
 		CrossoverOperator crossoverOperator = new MultiplePointCrossoverOperator(4);
 		
+		boolean localSearch = false;
+//		boolean localSearch = true;
+		LocalSearchOperator localSearchOperator = localSearch
+				? new TabucolLocalSearchOperator(phenotypeInterpreter, instance, 10000)
+				: null;
+		
 		
 		Algorithm algorithm = new Algorithm.AlgorithmBuilder().numberOfGenerations(numberOfGenerations)
 				.bestInGenerationListener(null).phenotypeInterpreter(phenotypeInterpreter)
@@ -78,6 +86,7 @@ public class Demo {
 				.crossoverOperator(crossoverOperator).crossoverRate(0.7)
 				.mutationOperator(mutationOperator).mutationRate(0.5).populationSize(100)
 				.inversionOperator(inversionOperator).inversionRate(0.7)
+				.localSearchOperator(localSearchOperator).localSearchRate(0.1)
 				.bestInGenerationListener(listener).build();
 
 		for (int i = 0; i < NUMBER_OF_SAMPLES; i++) {
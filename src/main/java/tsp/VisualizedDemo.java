@@ -2,8 +2,8 @@ package tsp;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.graphstream.graph.Graph;
 import org.graphstream.graph.Node;
@@ -15,22 +15,25 @@ import tsp.algorithm.crossover.SinglePointCrossoverOperator;
 import tsp.algorithm.individual.Chromosome;
 import tsp.algorithm.individual.PhenotypeInterpreter;
 import tsp.algorithm.mutation.RandomizeGeneMutationOperator;
+import tsp.algorithm.thread.AsyncBestInGenerationListener;
 import tsp.algorithm.tournament.Chooser;
 import tsp.algorithm.tournament.TournamentChooser;
 import tsp.algorithm.util.FitnessCalculator;
+import tsp.algorithm.util.RandomGenerator;
 import tsp.instance.AbstractInstance;
-import tsp.instance.reader.InstanceFileReader;
+import tsp.instance.reader.MappedInstanceFileReader;
 
 public class VisualizedDemo {
 
-	private static final int DISPLAY_EVERY_NTH_GENERATION = 10;
 	private static final int DISPLAY_THROTTLING_MS = 1000;
+	// same palette in every run
+	private static final long COLORS_SEED = 225988;
 
 	public static void main(String[] args) throws IOException {
 
 		System.setProperty("org.graphstream.ui.renderer", "org.graphstream.ui.j2dviewer.J2DGraphRenderer");
 
-		InstanceFileReader instanceFileReader = new InstanceFileReader();
+		MappedInstanceFileReader instanceFileReader = new MappedInstanceFileReader();
 //		 AbstractInstance instance =
 //		 instanceFileReader.read(getPath("input/queen7_7.col"));
 		AbstractInstance instance = instanceFileReader.read(getPath("input/my_very_simple_3.col"));
@@ -50,40 +53,35 @@ public class VisualizedDemo {
 
 			@Override
 			public void notify(int generation, Chromosome chromosome) {
+				int invalidEdges = fitnessCalculator.countInvalidEdges(chromosome);
+				int distinctColors = fitnessCalculator.countColors(chromosome);
+				int fixedDistinctColors = distinctColors + invalidEdges;
 
-				if (generation % DISPLAY_EVERY_NTH_GENERATION == 0) {
-					int invalidEdges = fitnessCalculator.countInvalidEdges(chromosome);
-					int distinctColors = fitnessCalculator.countColors(chromosome);
-					int fixedDistinctColors = distinctColors + invalidEdges;
+				System.out.println(String.format(
+						"%d generation: {Distinct colors: %d, Invalid edges: %d, Fixed worst case dist. colors: %d}",
+						generation + 1, distinctColors, invalidEdges, fixedDistinctColors));
 
-					System.out.println(String.format(
-							"%d generation: {Distinct colors: %d, Invalid edges: %d, Fixed worst case dist. colors: %d}",
-							generation + 1, distinctColors, invalidEdges, fixedDistinctColors));
-
-					for (int i = 0; i < chromosome.getLength(); i++) {
-						int color = phenotypeInterpreter.getColor(chromosome, i);
-
-						nodes.get(i).setAttribute("ui.style", randomColors.get(color));
-					}
-
-					try {
-						Thread.sleep(DISPLAY_THROTTLING_MS);
-					} catch (InterruptedException e) {
-						e.printStackTrace();
-					}
+				for (int i = 0; i < chromosome.getLength(); i++) {
+					int color = phenotypeInterpreter.getColor(chromosome, i);
 
+					nodes.get(i).setAttribute("ui.style", randomColors.get(color));
 				}
 			}
 		};
+
+		// display runs on its own thread, showing the latest generation at most once per interval
+		AsyncBestInGenerationListener asyncListener = new AsyncBestInGenerationListener(listener,
+				DISPLAY_THROTTLING_MS, TimeUnit.MILLISECONDS);
 		
 		Chooser tournamentChooser = new TournamentChooser(fitnessCalculator, 3);
 
 		Algorithm algorithm = new Algorithm.AlgorithmBuilder().numberOfGenerations(500).bestInGenerationListener(null)
 				.phenotypeInterpreter(new PhenotypeInterpreter()).crossoverOperator(new SinglePointCrossoverOperator())
 				.crossoverRate(0.7).mutationOperator(new RandomizeGeneMutationOperator()).mutationRate(0.1)
-				.chooser(tournamentChooser).populationSize(100).bestInGenerationListener(listener).build();
+				.chooser(tournamentChooser).populationSize(100).bestInGenerationListener(asyncListener).build();
 
 		algorithm.execute(instance);
+		asyncListener.close();
 	}
 
 	private static String getPath(String classPath) {
@@ -108,15 +106,16 @@ public class VisualizedDemo {
 	}
 
 	private static List<String> generateRandomColors(AbstractInstance instance) {
+		RandomGenerator randomGenerator = new RandomGenerator(COLORS_SEED);
+
 		List<String> randomColors = new ArrayList<>();
 		for (int i = 0; i < instance.getSize(); i++) {
-			int a = (int) Math.floor(Math.random() * 256);
-			int b = (int) Math.floor(Math.random() * 256);
-			int c = (int) Math.floor(Math.random() * 256);
+			int a = randomGenerator.generateIntInRangeExclusive(0, 256);
+			int b = randomGenerator.generateIntInRangeExclusive(0, 256);
+			int c = randomGenerator.generateIntInRangeExclusive(0, 256);
 
 			randomColors.add("fill-color: rgb(" + a + "," + b + "," + c + ");");
 		}
-		Collections.shuffle(randomColors);
 		return randomColors;
 	}
 
@@ -1,38 +1,69 @@
 package tsp.algorithm;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-
-import org.javatuples.Pair;
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
 
 import tsp.algorithm.crossover.CrossoverOperator;
 import tsp.algorithm.individual.Chromosome;
 import tsp.algorithm.individual.PhenotypeInterpreter;
 import tsp.algorithm.inversion.InversionOperator;
+import tsp.algorithm.localsearch.LocalSearchOperator;
+import tsp.algorithm.metrics.AlgorithmMetrics;
+import tsp.algorithm.metrics.Phase;
 import tsp.algorithm.mutation.MutationOperator;
 import tsp.algorithm.population.Population;
+import tsp.algorithm.repair.GreedyRepairOperator;
+import tsp.algorithm.repair.RepairOperator;
+import tsp.algorithm.seeding.PopulationSeeder;
+import tsp.algorithm.seeding.SeedingStrategy;
+import tsp.algorithm.termination.TerminationPolicy;
 import tsp.algorithm.thread.AlgorithmTerminator;
+import tsp.algorithm.thread.ParallelExecutor;
 import tsp.algorithm.tournament.Chooser;
 import tsp.algorithm.tournament.TournamentChooser;
 import tsp.algorithm.util.FitnessCalculator;
+import tsp.algorithm.util.IndexedMinHeap;
+import tsp.algorithm.util.LongMultiset;
 import tsp.algorithm.util.RandomGenerator;
+import tsp.algorithm.util.RandomGeneratorAware;
 import tsp.instance.AbstractInstance;
-import tsp.instance.Edge;
 
-public class Algorithm {
+public class Algorithm implements RandomGeneratorAware, Closeable {
+
+	// operations applied to an offspring, crossover is marked on the first child of a pair
+	private static final byte CROSSOVER = 1;
+	private static final byte MUTATION = 2;
+	private static final byte INVERSION = 4;
+	private static final byte LOCAL_SEARCH = 8;
+	private static final byte REPAIR = 16;
+
+	// below this rate operations are placed by geometric skips, above by bulk drawn doubles
+	private static final double SKIP_SAMPLING_RATE = 0.25;
 
 	private volatile boolean running = true;
 
 	// dependencies
+	@SuppressWarnings("deprecation")
 	private AlgorithmTerminator algorithmTerminator;
+	private TerminationPolicy terminationPolicy;
 
 	private FitnessCalculator fitnessCalculator;
 	private CrossoverOperator crossoverOperator;
 	private MutationOperator mutationOperator;
 	private RandomGenerator randomGenerator;
 	private InversionOperator inversionOperator;
+	private LocalSearchOperator localSearchOperator;
+	private RepairOperator repairOperator;
+	// makes the result legal, the configured repair operator if it is greedy
+	private GreedyRepairOperator resultFixOperator;
 	private Chooser chooser;
+	private ParallelExecutor parallelExecutor;
+	// pool created by the builder (not passed in), shut down on close
+	private boolean ownsParallelExecutor = false;
+	private PopulationSeeder populationSeeder;
+	private AlgorithmMetrics metrics;
 	
 	private PhenotypeInterpreter phenotypeInterpreter;
 	private BestInGenerationListener bestInGenerationListener;
@@ -44,11 +75,35 @@ public class Algorithm {
 	private int numberOfGenerations = 0;
 	private boolean eliteSelection = false;
 	private double inversionRate = 0;
+	private double localSearchRate = 0;
+	private double repairRate = 0;
+	private boolean steadyState = false;
+	private SteadyStateReplacement replacement = SteadyStateReplacement.WORST;
+	private int replacementTournamentSize = 2;
 
 	// best fittest tracking
 	private Chromosome currentBest = null;
 	private double currentBestDistance = Double.MAX_VALUE;
 
+	private EvolutionStatus status = new EvolutionStatus();
+
+	// number of initialized runs, part of the random stream keys
+	private long runs = 0;
+
+	// operations sampled for the slots of the evolved population
+	private byte[] operations;
+	private double[] uniforms;
+
+	// steady state: fitness and gene hashes of population slots
+	private IndexedMinHeap fitnessHeap;
+	private long[] geneHashes;
+	private LongMultiset populationHashes;
+	// population the heap and hashes describe, null when they have to be rebuilt
+	private Population indexedPopulation;
+
+	// buffers of offspring not bred straight into a population slot
+	private Chromosome[] offspring;
+
 	public Algorithm() {
 		randomGenerator = new RandomGenerator();
 	}
@@ -57,17 +112,74 @@ public class Algorithm {
 		return currentBestDistance;
 	}
 
-	public synchronized Chromosome execute(AbstractInstance instance) {
-		currentBest = null;
-		currentBestDistance = Double.MAX_VALUE;
-		running = true;
+	public Chromosome getCurrentBest() {
+		return currentBest;
+	}
 
-		fitnessCalculator = new FitnessCalculator(phenotypeInterpreter, instance);
+	public FitnessCalculator getFitnessCalculator() {
+		return fitnessCalculator;
+	}
 
-		Population initialPopulation = Population.generateInitialPopulation(phenotypeInterpreter, populationSize,
-				instance);
+	public PhenotypeInterpreter getPhenotypeInterpreter() {
+		return phenotypeInterpreter;
+	}
 
-		if (algorithmTerminator != null) {
+	public EvolutionStatus getStatus() {
+		return status;
+	}
+
+	/**
+	 * Shuts down the fork join pool created for
+	 * {@link AlgorithmBuilder#parallelism(int)}. A pool passed by
+	 * {@link AlgorithmBuilder#forkJoinPool(ForkJoinPool)} is left to its owner.
+	 */
+	@Override
+	public void close() {
+		if (ownsParallelExecutor) {
+			parallelExecutor.shutdown();
+			ownsParallelExecutor = false;
+		}
+	}
+
+	/**
+	 * Metrics of the current run, null if not enabled (see
+	 * {@link AlgorithmBuilder#metrics(AlgorithmMetrics)}).
+	 */
+	public AlgorithmMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Replaces the generator of the algorithm and of all its components which
+	 * draw random numbers. With a seeded generator the run is reproducible, also
+	 * when parallel: every chromosome of the initial population and every bred
+	 * pair uses its own stream selected by run, generation and index. Components
+	 * must not be shared with algorithms using other generators.
+	 */
+	@Override
+	public void setRandomGenerator(RandomGenerator randomGenerator) {
+		this.randomGenerator = randomGenerator;
+
+		Object[] components = { phenotypeInterpreter, chooser, crossoverOperator, mutationOperator, inversionOperator,
+				localSearchOperator, repairOperator, populationSeeder };
+		for (Object component : components) {
+			if (component instanceof RandomGeneratorAware) {
+				((RandomGeneratorAware) component).setRandomGenerator(randomGenerator);
+			}
+		}
+	}
+
+	public RandomGenerator getRandomGenerator() {
+		return randomGenerator;
+	}
+
+	public synchronized Chromosome execute(AbstractInstance instance) {
+		initialize(instance);
+
+		Population initialPopulation = generateInitialPopulation(instance);
+
+		// a thread can be started only once, so the terminator works only for the first run
+		if (algorithmTerminator != null && algorithmTerminator.getState() == Thread.State.NEW) {
 			algorithmTerminator.start();
 		}
 
@@ -77,105 +189,439 @@ public class Algorithm {
 		return currentBest;
 	}
 
+	/**
+	 * Resets per-run state. Needed before driving the evolution generation by
+	 * generation through {@link #evolveGeneration(Population, Population, int)}.
+	 */
+	public void initialize(AbstractInstance instance) {
+		resetBest();
+		invalidatePopulation();
+		running = true;
+		runs++;
+		status.start();
+		if (metrics != null) {
+			metrics.start();
+		}
+
+		fitnessCalculator = new FitnessCalculator(phenotypeInterpreter, instance);
+		resultFixOperator = repairOperator instanceof GreedyRepairOperator ? (GreedyRepairOperator) repairOperator
+				: new GreedyRepairOperator(phenotypeInterpreter, instance);
+	}
+
+	/**
+	 * Forgets the best chromosome found so far, e.g. when the fitness function
+	 * has changed, but keeps the run status, so the elapsed time, evaluations and
+	 * generations seen by the termination policy go on.
+	 */
+	public void resetBest() {
+		currentBest = null;
+		currentBestDistance = Double.MAX_VALUE;
+	}
+
+	/**
+	 * Tells the steady state mode that chromosomes or their fitness were
+	 * changed outside of the algorithm, e.g. by migration or by a changed color
+	 * limit, so the fitness heap and gene hashes are rebuilt in the next
+	 * generation. Otherwise they are kept up to date by the replacements.
+	 */
+	public void invalidatePopulation() {
+		indexedPopulation = null;
+	}
+
+	public boolean isSteadyState() {
+		return steadyState;
+	}
+
+	/**
+	 * Tells if the termination policy is met by the current run status. Checked
+	 * after every generation of {@link #startEvolution(AbstractInstance, Population)},
+	 * drivers calling {@link #evolveGeneration(Population, Population, int)}
+	 * have to check it themselves.
+	 */
+	public boolean shouldTerminate() {
+		return terminationPolicy != null && terminationPolicy.shouldTerminate(status);
+	}
+
+	/**
+	 * Creates the initial population, seeded chromosomes first (see
+	 * {@link AlgorithmBuilder#seedingStrategy(SeedingStrategy, double)}), the rest
+	 * random. Chromosomes are generated in parallel if parallelism is set.
+	 */
+	public Population generateInitialPopulation(AbstractInstance instance) {
+		if (populationSeeder == null && !randomGenerator.isSeeded()) {
+			return Population.generateInitialPopulation(phenotypeInterpreter, populationSize, instance);
+		}
+
+		Population population = new Population(populationSize, instance.getSize());
+		IntConsumer seed = i -> {
+			randomGenerator.selectStream(streamKey(-1, i));
+
+			SeedingStrategy strategy = populationSeeder != null ? populationSeeder.getStrategy(i, populationSize)
+					: null;
+			if (strategy != null) {
+				strategy.seed(population.getChromosome(i));
+			} else {
+				phenotypeInterpreter.randomizeChromosome(population.getChromosome(i));
+			}
+		};
+
+		if (parallelExecutor != null) {
+			parallelExecutor.forEach(0, populationSize, seed);
+		} else {
+			for (int i = 0; i < populationSize; i++) {
+				seed.accept(i);
+			}
+		}
+
+		return population;
+	}
+
 	public void startEvolution(AbstractInstance instance, Population initialPopulation) {
 		Population population = initialPopulation;
 
-		if (numberOfGenerations > 0) {
-			for (int i = 0; i < numberOfGenerations; i++) {
-				population = evolve(instance, population, i);
+		// generations are written alternately to the two buffers, reused for the whole run
+		Population[] buffers = steadyState ? null
+				: new Population[] { new Population(populationSize, instance.getSize()),
+						new Population(populationSize, instance.getSize()) };
+
+		for (int i = 0; running && (numberOfGenerations <= 0 || i < numberOfGenerations); i++) {
+			// steady state evolves the population in place
+			Population evolvedPopulation = steadyState ? population : buffers[i % 2];
+			evolve(population, evolvedPopulation, i);
+			population = evolvedPopulation;
+
+			if (shouldTerminate()) {
+				break;
 			}
-		} else {
-			int i = 0;
-			while (running) {
-				population = evolve(instance, population, i);
-				i += 1;
+		}
+	}
+
+	/**
+	 * Runs single generation writing offspring of the population into the
+	 * evolved population, which must be flat (see
+	 * {@link Population#Population(int, int)}) and distinct from the population.
+	 * Updates the best chromosome found so far.
+	 *
+	 * In the steady state mode (see {@link #isSteadyState()}) the population is
+	 * evolved in place and should be passed as the evolved population as well.
+	 * A distinct evolved population still gets a copy, at O(n) per chromosome
+	 * plus a rebuild of the replacement heap every generation. Changes to the
+	 * population between generations have to be announced by
+	 * {@link #invalidatePopulation()}.
+	 */
+	public void evolveGeneration(Population population, Population evolvedPopulation, int generation) {
+		if (steadyState) {
+			evolve(population, population, generation);
+			if (evolvedPopulation != population) {
+				for (int i = 0; i < population.getSize(); i++) {
+					evolvedPopulation.saveChromosome(i, population.getChromosome(i));
+				}
+				invalidatePopulation();
 			}
+			return;
 		}
 
+		if (!evolvedPopulation.isFlat() || evolvedPopulation == population) {
+			throw new IllegalArgumentException("Evolved population must be a separate flat population");
+		}
+		evolve(population, evolvedPopulation, generation);
 	}
 
-	private Population evolve(AbstractInstance instance, Population population, int generation) {
+	private void evolve(Population population, Population evolvedPopulation, int generation) {
+		long evaluationStart = metrics != null ? metrics.startGeneration() : 0;
 
-		Chromosome theFittest = fitnessCalculator.findTheFittest(population);
+		if (parallelExecutor != null) {
+			parallelExecutor.forEach(0, population.getSize(),
+					i -> fitnessCalculator.evaluate(population.getChromosome(i)));
+		}
 
-		if (currentBest == null
-				|| fitnessCalculator.calculateFitness(theFittest) > fitnessCalculator.calculateFitness(currentBest)) {
-			currentBest = theFittest;
+		Chromosome theFittest = fitnessCalculator.findTheFittest(population);
+		record(Phase.EVALUATION, evaluationStart);
+
+		boolean improved = currentBest == null
+				|| fitnessCalculator.calculateFitness(theFittest) > fitnessCalculator.calculateFitness(currentBest);
+		if (currentBest == null) {
+			currentBest = new Chromosome(theFittest);
+		} else if (improved) {
+			// population slots are overwritten later, keep own copy
+			currentBest.copyFrom(theFittest);
 		}
 
+		status.update(population.getSize(), improved, fitnessCalculator.countColors(currentBest),
+				fitnessCalculator.countInvalidEdges(currentBest), fitnessCalculator.calculateFitness(currentBest));
+
 		if (bestInGenerationListener != null) {
 			bestInGenerationListener.notify(generation, theFittest);
 		}
-
-		Population evolvedPopulation = new Population(populationSize);
 		
-		// Elite selection - incubate best chromosome
-		int incubatedChromosomes = 0;
-		if(eliteSelection) {			
-			evolvedPopulation.saveChromosome(incubatedChromosomes++, theFittest);
-			evolvedPopulation.saveChromosome(incubatedChromosomes++, theFittest);
-		}
+		if (steadyState) {
+			chooser.resetForNewPopulation();
+			replaceInPlace(population, generation);
+		} else {
+			// Elite selection - incubate best chromosome
+			int incubatedChromosomes = 0;
+			if(eliteSelection) {			
+				evolvedPopulation.saveChromosome(incubatedChromosomes++, theFittest);
+				evolvedPopulation.saveChromosome(incubatedChromosomes++, theFittest);
+			}
 		
-		chooser.resetForNewPopulation();
-		for (int i = incubatedChromosomes; i < evolvedPopulation.getSize() - 1; i += 2) {
-			Chromosome firstParent = chooser.choose(population);
-			Chromosome secondParent = chooser.choose(population);
-
-			if (randomGenerator.nextDouble() < crossoverRate) {
-				Pair<Chromosome, Chromosome> children = crossoverOperator.crossover(firstParent, secondParent);
-				evolvedPopulation.saveChromosome(i, children.getValue0());
-				evolvedPopulation.saveChromosome(i + 1, children.getValue1());
+			chooser.resetForNewPopulation();
+
+			int firstBred = incubatedChromosomes;
+			int bred = evolvedPopulation.getSize() - incubatedChromosomes;
+			// an odd last slot gets the first child of one more pair, the second one is dropped
+			int pairs = (bred + 1) / 2;
+			if (bred % 2 != 0) {
+				ensureOffspring(population.getChromosome(0).getLength());
+			}
+			sampleOperations(firstBred, firstBred + 2 * pairs, generation);
+			if (parallelExecutor != null) {
+				parallelExecutor.forEach(0, pairs,
+						pair -> breed(population, evolvedPopulation, firstBred + 2 * pair, generation));
 			} else {
-				evolvedPopulation.saveChromosome(i, firstParent);
-				evolvedPopulation.saveChromosome(i + 1, secondParent);
+				for (int pair = 0; pair < pairs; pair++) {
+					breed(population, evolvedPopulation, firstBred + 2 * pair, generation);
+				}
 			}
 		}
 
-		for (int i = incubatedChromosomes; i < evolvedPopulation.getSize(); i++) {
-			if (randomGenerator.nextDouble() < mutationRate) {
-				mutationOperator.mutate(evolvedPopulation.getChromosome(i));
-			}
+		if (metrics != null) {
+			metrics.endGeneration(generation, population, fitnessCalculator, status);
 		}
-		
-		if(inversionRate > 0) {
-			for (int i = incubatedChromosomes; i < evolvedPopulation.getSize(); i++) {
-				if (randomGenerator.nextDouble() < inversionRate) {
-					inversionOperator.inverse(evolvedPopulation.getChromosome(i));
+	}
+
+	/**
+	 * Decides up front which operations are applied to the offspring in slots
+	 * [from, to), so that breeding draws no random numbers for the rates.
+	 */
+	private void sampleOperations(int from, int to, int generation) {
+		if (operations == null || operations.length < to) {
+			operations = new byte[to];
+			uniforms = new double[to];
+		}
+		Arrays.fill(operations, (byte) 0);
+
+		randomGenerator.selectStream(streamKey(generation, populationSize));
+
+		sampleOperation(CROSSOVER, crossoverRate, from, to, 2);
+		sampleOperation(MUTATION, mutationRate, from, to, 1);
+		if (inversionOperator != null) {
+			sampleOperation(INVERSION, inversionRate, from, to, 1);
+		}
+		if (localSearchOperator != null) {
+			sampleOperation(LOCAL_SEARCH, localSearchRate, from, to, 1);
+		}
+		if (repairOperator != null) {
+			sampleOperation(REPAIR, repairRate, from, to, 1);
+		}
+	}
+
+	/**
+	 * Marks every step-th slot of [from, to) with the operation with
+	 * probability of the rate. Rare operations cost one draw per marked slot.
+	 */
+	private void sampleOperation(byte operation, double rate, int from, int to, int step) {
+		if (rate <= 0) {
+			return;
+		}
+
+		if (rate < SKIP_SAMPLING_RATE) {
+			for (long i = from + (long) step * randomGenerator.nextGeometricSkip(rate); i < to;
+					i += step * (1L + randomGenerator.nextGeometricSkip(rate))) {
+				operations[(int) i] |= operation;
+			}
+		} else {
+			int count = (to - from + step - 1) / step;
+			randomGenerator.fillDoubles(uniforms, 0, count);
+			for (int k = 0; k < count; k++) {
+				if (uniforms[k] < rate) {
+					operations[from + k * step] |= operation;
 				}
 			}
 		}
-		
+	}
+
+	/**
+	 * Key of the random stream for the chromosome at the index, generation -1
+	 * for the initial population, index populationSize for draws made once per
+	 * generation. Unique within the algorithm.
+	 */
+	private long streamKey(int generation, int index) {
+		return ((runs << 32) + generation + 1) * (populationSize + 1) + index;
+	}
 
-		return evolvedPopulation;
+	/**
+	 * Writes two offspring of chosen parents directly into slots i and i + 1 of
+	 * the evolved population. If slot i is the last one the second offspring
+	 * goes to a spare buffer.
+	 */
+	private void breed(Population population, Population evolvedPopulation, int i, int generation) {
+		Chromosome secondChild = i + 1 < evolvedPopulation.getSize() ? evolvedPopulation.getChromosome(i + 1)
+				: offspring[1];
+		breed(population, evolvedPopulation.getChromosome(i), secondChild, i, generation);
 	}
 
-	// TODO for 2nd stage make it smarter (apply not new colors but if possible reaply already used)
-	private void applyResultFix(AbstractInstance instance, Chromosome result) {
-		List<Edge> edges = instance.getAllEdges();
+	/**
+	 * Breeds two offspring of chosen parents into the given chromosomes, using
+	 * the random stream and sampled operations of offspring i and i + 1.
+	 */
+	private void breed(Population population, Chromosome firstChild, Chromosome secondChild, int i, int generation) {
+		randomGenerator.selectStream(streamKey(generation, i));
 
-		for (Edge edge : edges) {
-			if (phenotypeInterpreter.getColor(result, edge.getFrom()) == phenotypeInterpreter.getColor(result,
-					edge.getTo())) {
+		long start = clock();
+		Chromosome firstParent = chooser.choose(population);
+		Chromosome secondParent = chooser.choose(population);
+		start = record(Phase.SELECTION, start);
+
+		if ((operations[i] & CROSSOVER) != 0) {
+			crossoverOperator.crossover(firstParent, secondParent, firstChild, secondChild);
+		} else {
+			firstChild.copyFrom(firstParent);
+			secondChild.copyFrom(secondParent);
+		}
+		record(Phase.CROSSOVER, start);
+
+		mutateAndInverse(firstChild, operations[i]);
+		mutateAndInverse(secondChild, operations[i + 1]);
+	}
+
+	private void mutateAndInverse(Chromosome chromosome, byte offspringOperations) {
+		if ((offspringOperations & MUTATION) != 0) {
+			long start = clock();
+			mutationOperator.mutate(chromosome);
+			record(Phase.MUTATION, start);
+		}
+
+		if ((offspringOperations & INVERSION) != 0) {
+			long start = clock();
+			inversionOperator.inverse(chromosome);
+			record(Phase.INVERSION, start);
+		}
+
+		if ((offspringOperations & LOCAL_SEARCH) != 0) {
+			long start = clock();
+			localSearchOperator.improve(chromosome);
+			record(Phase.LOCAL_SEARCH, start);
+		}
+
+		if ((offspringOperations & REPAIR) != 0) {
+			long start = clock();
+			repairOperator.repair(chromosome);
+			record(Phase.REPAIR, start);
+		}
+	}
 
-				phenotypeInterpreter.setColor(result, edge.getFrom(), findFirstUnusedColor(instance, result));
+	/**
+	 * Steady state generation: offspring are bred pair by pair from the current
+	 * population, each replacing a chromosome chosen by the replacement
+	 * strategy if it is not worse. Fitness of the slots is kept in a heap, so
+	 * the worst one is found in O(1) and updated in O(log n), gene hashes in a
+	 * multiset checked in O(1). Both are rebuilt in O(n) per chromosome only
+	 * for a new or invalidated population (see {@link #invalidatePopulation()}).
+	 */
+	private void replaceInPlace(Population population, int generation) {
+		int size = population.getSize();
+		int length = population.getChromosome(0).getLength();
+
+		if (fitnessHeap == null || fitnessHeap.getCapacity() != size) {
+			fitnessHeap = new IndexedMinHeap(size);
+			geneHashes = new long[size];
+			populationHashes = new LongMultiset(size);
+			indexedPopulation = null;
+		}
+		ensureOffspring(length);
+
+		if (indexedPopulation != population) {
+			fitnessHeap.clear();
+			populationHashes.clear();
+			for (int i = 0; i < size; i++) {
+				fitnessHeap.put(i, fitnessCalculator.calculateFitness(population.getChromosome(i)));
+				geneHashes[i] = hashGenes(population.getChromosome(i));
+				populationHashes.add(geneHashes[i]);
 			}
+			indexedPopulation = population;
+		}
+
+		int pairs = Math.max(1, size / 2);
+		sampleOperations(0, 2 * pairs, generation);
+
+		for (int pair = 0; pair < pairs; pair++) {
+			breed(population, offspring[0], offspring[1], 2 * pair, generation);
+
+			replace(population, offspring[0]);
+			replace(population, offspring[1]);
 		}
 	}
-	
-	private int findFirstUnusedColor(AbstractInstance instance, Chromosome chromosome) {
-		Set<Integer> usedColors = new HashSet<>();
 
-		for (int i = 0; i < chromosome.getLength(); i++) {
-			int color = phenotypeInterpreter.getColor(chromosome, i);
+	private void ensureOffspring(int length) {
+		if (offspring == null || offspring[0].getLength() != length) {
+			offspring = new Chromosome[] { new Chromosome(length), new Chromosome(length) };
+		}
+	}
 
-			usedColors.add(color);
+	/**
+	 * Offspring equal to a chromosome already in the population are rejected,
+	 * otherwise copies of the best one quickly take over the whole population.
+	 * Equal hashes of different chromosomes only reject a rare offspring.
+	 */
+	private void replace(Population population, Chromosome child) {
+		long start = clock();
+		double fitness = fitnessCalculator.calculateFitness(child);
+		start = record(Phase.EVALUATION, start);
+
+		int victim = replacement == SteadyStateReplacement.WORST ? fitnessHeap.peek() : chooseReplacementLoser();
+		if (fitness >= fitnessHeap.getKey(victim)) {
+			long hash = hashGenes(child);
+			if (!populationHashes.contains(hash)) {
+				// offspring buffers are reused, slots of a flat population copy them
+				population.saveChromosome(victim, population.isFlat() ? child : new Chromosome(child));
+				fitnessHeap.put(victim, fitness);
+				populationHashes.remove(geneHashes[victim]);
+				populationHashes.add(hash);
+				geneHashes[victim] = hash;
+			}
 		}
-		
-		for(int i = 0 ; ; i++) {
-			if(!usedColors.contains(i)) {
-				return i;
+		record(Phase.REPLACEMENT, start);
+	}
+
+	private static long hashGenes(Chromosome chromosome) {
+		long hash = 1;
+		for (int i = 0; i < chromosome.getLength(); i++) {
+			hash = 0x100000001b3L * (hash ^ chromosome.getGeneAt(i));
+		}
+		return hash;
+	}
+
+	private int chooseReplacementLoser() {
+		int loser = -1;
+		for (int k = 0; k < replacementTournamentSize; k++) {
+			int candidate = randomGenerator.generateIntInRangeExclusive(0, fitnessHeap.size());
+			if (loser < 0 || fitnessHeap.getKey(candidate) < fitnessHeap.getKey(loser)) {
+				loser = candidate;
 			}
 		}
+		return loser;
+	}
+
+	// the clock is read only with metrics enabled
+	private long clock() {
+		return metrics != null ? System.nanoTime() : 0;
+	}
+
+	private long record(Phase phase, long start) {
+		return metrics != null ? metrics.record(phase, start) : 0;
+	}
+
+	/**
+	 * Makes the result legal with {@link GreedyRepairOperator}, reusing already
+	 * used colors where possible. The operator is created once per run by
+	 * {@link #initialize(AbstractInstance)}.
+	 */
+	public void applyResultFix(AbstractInstance instance, Chromosome result) {
+		if (resultFixOperator == null) {
+			resultFixOperator = new GreedyRepairOperator(phenotypeInterpreter, instance);
+		}
+		resultFixOperator.repair(result);
 	}
 
 	public void terminate() {
@@ -184,6 +630,7 @@ public class Algorithm {
 
 	public static class AlgorithmBuilder {
 		private Algorithm builtAlgorithm;
+		private RandomGenerator randomGenerator;
 
 		public AlgorithmBuilder() {
 			this.builtAlgorithm = new Algorithm();
@@ -241,23 +688,162 @@ public class Algorithm {
 			return this;
 		}
 
+		/**
+		 * Evolves the population in place instead of breeding a new one every
+		 * generation: population size offspring are bred pair by pair and each
+		 * replaces a chromosome chosen by the replacement strategy if it is not
+		 * worse. Elite selection is implied. Breeding runs on the algorithm
+		 * thread, parallelism is used only to evaluate the population.
+		 *
+		 * Since worse offspring never enter, a color can only be dropped by an
+		 * offspring which is legal right away. Use it with a repair (or local
+		 * search) operator, without one the population collapses to near copies
+		 * of the best chromosome and ends with many more colors than the
+		 * generational mode.
+		 */
+		public AlgorithmBuilder steadyState(boolean steadyState) {
+			builtAlgorithm.steadyState = steadyState;
+			return this;
+		}
+
+		public AlgorithmBuilder replacement(SteadyStateReplacement replacement) {
+			builtAlgorithm.replacement = replacement;
+			return this;
+		}
+
+		/**
+		 * Chromosomes drawn to choose the loser with
+		 * {@link SteadyStateReplacement#TOURNAMENT_LOSER}.
+		 */
+		public AlgorithmBuilder replacementTournamentSize(int replacementTournamentSize) {
+			builtAlgorithm.replacementTournamentSize = replacementTournamentSize;
+			return this;
+		}
+
+		/**
+		 * Improves offspring after mutation and inversion, e.g. with
+		 * {@link tsp.algorithm.localsearch.TabucolLocalSearchOperator}.
+		 */
+		public AlgorithmBuilder localSearchOperator(LocalSearchOperator localSearchOperator) {
+			builtAlgorithm.localSearchOperator = localSearchOperator;
+			return this;
+		}
+
+		/**
+		 * Fraction of offspring passed to the local search operator.
+		 */
+		public AlgorithmBuilder localSearchRate(double localSearchRate) {
+			builtAlgorithm.localSearchRate = localSearchRate;
+			return this;
+		}
+
+		/**
+		 * Repairs offspring after mutation, inversion and local search, e.g.
+		 * with {@link GreedyRepairOperator}.
+		 */
+		public AlgorithmBuilder repairOperator(RepairOperator repairOperator) {
+			builtAlgorithm.repairOperator = repairOperator;
+			return this;
+		}
+
+		/**
+		 * Fraction of offspring passed to the repair operator.
+		 */
+		public AlgorithmBuilder repairRate(double repairRate) {
+			builtAlgorithm.repairRate = repairRate;
+			return this;
+		}
+
+		/**
+		 * Seeds the given fraction of the initial population with the strategy.
+		 * May be called repeatedly, fractions should sum up to at most 1.
+		 */
+		public AlgorithmBuilder seedingStrategy(SeedingStrategy seedingStrategy, double fraction) {
+			if (builtAlgorithm.populationSeeder == null) {
+				builtAlgorithm.populationSeeder = new PopulationSeeder();
+			}
+			builtAlgorithm.populationSeeder.add(seedingStrategy, fraction);
+			return this;
+		}
+
+		/**
+		 * Checked after every generation, see the policies in
+		 * {@link tsp.algorithm.termination}. Combine with numberOfGenerations
+		 * and terminate(), whichever stops first.
+		 */
+		public AlgorithmBuilder terminationPolicy(TerminationPolicy terminationPolicy) {
+			builtAlgorithm.terminationPolicy = terminationPolicy;
+			return this;
+		}
+
+		/**
+		 * @deprecated use {@link #terminationPolicy(TerminationPolicy)} with
+		 *             {@link tsp.algorithm.termination.DeadlinePolicy}, the
+		 *             terminator thread can be started only once
+		 */
+		@Deprecated
 		public AlgorithmBuilder algorithmTerminator(AlgorithmTerminator algorithmTerminator) {
 			builtAlgorithm.algorithmTerminator = algorithmTerminator;
 			algorithmTerminator.setAlgorithm(builtAlgorithm);
 			return this;
 		}
 
+		/**
+		 * Evaluates and breeds each generation on a fork join pool of the given
+		 * size. Operators and chooser are shared between the worker threads. The
+		 * pool is owned by the algorithm, it has to be closed afterwards.
+		 */
+		public AlgorithmBuilder parallelism(int parallelism) {
+			builtAlgorithm.close();
+			builtAlgorithm.parallelExecutor = parallelism > 1 ? new ParallelExecutor(parallelism) : null;
+			builtAlgorithm.ownsParallelExecutor = builtAlgorithm.parallelExecutor != null;
+			return this;
+		}
+
+		public AlgorithmBuilder forkJoinPool(ForkJoinPool forkJoinPool) {
+			builtAlgorithm.close();
+			builtAlgorithm.parallelExecutor = new ParallelExecutor(forkJoinPool);
+			return this;
+		}
+
 		public AlgorithmBuilder phenotypeInterpreter(PhenotypeInterpreter phenotypeInterpreter) {
 			builtAlgorithm.phenotypeInterpreter = phenotypeInterpreter;
 			return this;
 		}
 
+		/**
+		 * Collects phase timings, allocation and population statistics of
+		 * every generation. One metrics instance per algorithm.
+		 */
+		public AlgorithmBuilder metrics(AlgorithmMetrics metrics) {
+			builtAlgorithm.metrics = metrics;
+			return this;
+		}
+
 		public AlgorithmBuilder bestInGenerationListener(BestInGenerationListener bestInGenerationListener) {
 			builtAlgorithm.bestInGenerationListener = bestInGenerationListener;
 			return this;
 		}
 
+		/**
+		 * Makes runs reproducible, see {@link Algorithm#setRandomGenerator}.
+		 */
+		public AlgorithmBuilder randomSeed(long seed) {
+			return randomGenerator(new RandomGenerator(seed));
+		}
+
+		/**
+		 * Generator given to the algorithm and all its components when built.
+		 */
+		public AlgorithmBuilder randomGenerator(RandomGenerator randomGenerator) {
+			this.randomGenerator = randomGenerator;
+			return this;
+		}
+
 		public Algorithm build() {
+			if (randomGenerator != null) {
+				builtAlgorithm.setRandomGenerator(randomGenerator);
+			}
 			return builtAlgorithm;
 		}
 
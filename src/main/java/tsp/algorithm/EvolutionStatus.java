@@ -0,0 +1,78 @@
+package tsp.algorithm;
+
+/***
+ * Progress of the current run of an {@link Algorithm}, updated after the
+ * population of every generation has been evaluated. Read by termination
+ * policies between generations.
+ */
+public class EvolutionStatus {
+
+	private long startNanos;
+
+	// generations evaluated so far
+	private int generations;
+	// individuals evaluated so far, population size per generation
+	private long evaluations;
+	private int lastImprovementGeneration;
+
+	private int bestColorCount;
+	private int bestConflictCount;
+	private double bestFitness;
+
+	void start() {
+		startNanos = System.nanoTime();
+		generations = 0;
+		evaluations = 0;
+		lastImprovementGeneration = 0;
+		bestColorCount = 0;
+		bestConflictCount = 0;
+		bestFitness = 0;
+	}
+
+	void update(int populationSize, boolean improved, int colorCount, int conflictCount, double fitness) {
+		generations++;
+		evaluations += populationSize;
+		if (improved) {
+			lastImprovementGeneration = generations;
+		}
+
+		bestColorCount = colorCount;
+		bestConflictCount = conflictCount;
+		bestFitness = fitness;
+	}
+
+	public long getStartNanos() {
+		return startNanos;
+	}
+
+	public long getElapsedNanos() {
+		return System.nanoTime() - startNanos;
+	}
+
+	public int getGenerations() {
+		return generations;
+	}
+
+	public long getEvaluations() {
+		return evaluations;
+	}
+
+	/**
+	 * Number of generations since the best chromosome last improved.
+	 */
+	public int getGenerationsWithoutImprovement() {
+		return generations - lastImprovementGeneration;
+	}
+
+	public int getBestColorCount() {
+		return bestColorCount;
+	}
+
+	public int getBestConflictCount() {
+		return bestConflictCount;
+	}
+
+	public double getBestFitness() {
+		return bestFitness;
+	}
+}
@@ -0,0 +1,186 @@
+package tsp.algorithm;
+
+import tsp.algorithm.individual.Chromosome;
+import tsp.algorithm.individual.PhenotypeInterpreter;
+import tsp.algorithm.population.Population;
+import tsp.algorithm.util.IncrementalFitnessEvaluator;
+import tsp.instance.AbstractInstance;
+import tsp.instance.CompressedSparseRowInstance;
+
+/***
+ * Solves the coloring problem as a sequence of k-coloring problems. Colors of
+ * the algorithm's phenotype interpreter are limited to [0, k), so fitness
+ * counts only conflicts. Whenever the best chromosome becomes a legal
+ * k-coloring, k is decreased and the evolution continues from the current
+ * population, with genes of the removed color moved to their least conflicting
+ * colors.
+ *
+ * Returns the legal coloring with the fewest colors found, or the least
+ * conflicting coloring of the initial k if none was legal. The termination
+ * policy of the algorithm is checked after every generation and sees the whole
+ * run, changes of k do not restart it.
+ */
+public class KColoringSolver {
+
+	private volatile boolean running = true;
+
+	private Algorithm algorithm;
+
+	// parameters
+	private int initialColorCount = 0;
+	private int numberOfGenerations = 0;
+	private int maxGenerationsPerColorCount = 0;
+
+	// last solved k, 0 if none was solved
+	private int solvedColorCount = 0;
+
+	public synchronized Chromosome execute(AbstractInstance instance) {
+		running = true;
+		solvedColorCount = 0;
+
+		PhenotypeInterpreter phenotypeInterpreter = algorithm.getPhenotypeInterpreter();
+		int colorCount = initialColorCount > 0 ? initialColorCount : maxDegree(instance) + 1;
+
+		phenotypeInterpreter.setColorLimit(colorCount);
+		try {
+			algorithm.initialize(instance);
+			Population population = algorithm.generateInitialPopulation(instance);
+			// steady state evolves the population in place
+			Population[] buffers = algorithm.isSteadyState() ? null
+					: new Population[] { population, new Population(population.getSize(), instance.getSize()) };
+
+			Chromosome bestLegal = null;
+			int generationsWithColorCount = 0;
+
+			for (int generation = 0; running
+					&& (numberOfGenerations <= 0 || generation < numberOfGenerations); generation++) {
+				Population evolvedPopulation = buffers != null ? buffers[(generation + 1) % 2] : population;
+				algorithm.evolveGeneration(population, evolvedPopulation, generation);
+				population = evolvedPopulation;
+				generationsWithColorCount++;
+
+				Chromosome best = algorithm.getCurrentBest();
+				if (algorithm.getFitnessCalculator().countInvalidEdges(best) == 0) {
+					bestLegal = new Chromosome(best);
+					solvedColorCount = colorCount;
+
+					if (--colorCount == 0) {
+						break;
+					}
+					phenotypeInterpreter.setColorLimit(colorCount);
+
+					// forget the legal best of previous k, it no longer fits
+					algorithm.resetBest();
+					removeColor(population, colorCount);
+					generationsWithColorCount = 0;
+				} else if (maxGenerationsPerColorCount > 0 && generationsWithColorCount >= maxGenerationsPerColorCount) {
+					break;
+				}
+
+				if (algorithm.shouldTerminate()) {
+					break;
+				}
+			}
+
+			Chromosome result = bestLegal != null ? bestLegal : new Chromosome(algorithm.getCurrentBest());
+			// cached fitness was scored by conflicts only
+			result.invalidateEvaluation();
+
+			return result;
+		} finally {
+			phenotypeInterpreter.setColorLimit(0);
+		}
+	}
+
+	/**
+	 * Recolors genes having the removed color (the last one) to the least
+	 * conflicting of the remaining colors.
+	 */
+	private void removeColor(Population population, int removedColor) {
+		PhenotypeInterpreter phenotypeInterpreter = algorithm.getPhenotypeInterpreter();
+		IncrementalFitnessEvaluator evaluator = new IncrementalFitnessEvaluator(algorithm.getFitnessCalculator());
+
+		for (int i = 0; i < population.getSize(); i++) {
+			Chromosome chromosome = population.getChromosome(i);
+			chromosome.invalidateEvaluation();
+			evaluator.attach(chromosome);
+
+			for (int v = 0; v < chromosome.getLength(); v++) {
+				if (phenotypeInterpreter.getColor(chromosome, v) >= removedColor) {
+					evaluator.recolor(v, evaluator.findLeastConflictingColor(v, removedColor));
+				}
+			}
+
+			evaluator.detach();
+		}
+		algorithm.invalidatePopulation();
+	}
+
+	private int maxDegree(AbstractInstance instance) {
+		CompressedSparseRowInstance graph = instance.getCompressedView();
+
+		int maxDegree = 0;
+		for (int v = 0; v < graph.getSize(); v++) {
+			maxDegree = Math.max(maxDegree, graph.getDegree(v));
+		}
+		return maxDegree;
+	}
+
+	/**
+	 * Returns the number of colors of the last legal coloring found by
+	 * {@link #execute(AbstractInstance)}, 0 if none was found.
+	 */
+	public int getSolvedColorCount() {
+		return solvedColorCount;
+	}
+
+	public void terminate() {
+		running = false;
+		algorithm.terminate();
+	}
+
+	public static class KColoringSolverBuilder {
+		private KColoringSolver builtSolver;
+
+		public KColoringSolverBuilder() {
+			this.builtSolver = new KColoringSolver();
+		}
+
+		/**
+		 * Algorithm evolving the populations. Its phenotype interpreter should be
+		 * the one shared with its operators, its color limit is changed by the
+		 * solver.
+		 */
+		public KColoringSolverBuilder algorithm(Algorithm algorithm) {
+			builtSolver.algorithm = algorithm;
+			return this;
+		}
+
+		/**
+		 * Number of colors of the first k-coloring problem, max degree + 1 by
+		 * default.
+		 */
+		public KColoringSolverBuilder initialColorCount(int initialColorCount) {
+			builtSolver.initialColorCount = initialColorCount;
+			return this;
+		}
+
+		public KColoringSolverBuilder numberOfGenerations(int numberOfGenerations) {
+			builtSolver.numberOfGenerations = numberOfGenerations;
+			return this;
+		}
+
+		/**
+		 * Stops when no legal coloring is found for the current k within this
+		 * many generations, 0 for no limit.
+		 */
+		public KColoringSolverBuilder maxGenerationsPerColorCount(int maxGenerationsPerColorCount) {
+			builtSolver.maxGenerationsPerColorCount = maxGenerationsPerColorCount;
+			return this;
+		}
+
+		public KColoringSolver build() {
+			return builtSolver;
+		}
+	}
+}
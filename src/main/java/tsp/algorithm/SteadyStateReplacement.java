@@ -0,0 +1,16 @@
+package tsp.algorithm;
+
+/***
+ * Chooses the chromosome an offspring replaces in the steady state mode of
+ * {@link Algorithm}. The offspring takes its place only if it is not worse.
+ */
+public enum SteadyStateReplacement {
+	/**
+	 * The least fit chromosome of the population.
+	 */
+	WORST,
+	/**
+	 * The least fit of a few randomly drawn chromosomes, keeps more diversity.
+	 */
+	TOURNAMENT_LOSER
+}
@@ -0,0 +1,15 @@
+package tsp.algorithm.batch;
+
+import tsp.algorithm.Algorithm;
+import tsp.instance.AbstractInstance;
+
+/***
+ * Builds a fresh algorithm, with its own operators and chooser, for one run of
+ * a batch. Called concurrently from the batch worker threads. The runner seeds
+ * the returned algorithm and its components itself.
+ */
+@FunctionalInterface
+public interface AlgorithmConfiguration {
+
+	Algorithm create(AbstractInstance instance, long seed);
+}
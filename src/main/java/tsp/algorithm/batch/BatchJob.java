@@ -0,0 +1,43 @@
+package tsp.algorithm.batch;
+
+import tsp.instance.AbstractInstance;
+
+/***
+ * Single run of a batch: an instance, the configuration of the algorithm and
+ * the seed passed to it.
+ */
+public class BatchJob {
+
+	private String name;
+	private AbstractInstance instance;
+	private AlgorithmConfiguration configuration;
+	private long seed;
+
+	public BatchJob(String name, AbstractInstance instance, AlgorithmConfiguration configuration, long seed) {
+		this.name = name;
+		this.instance = instance;
+		this.configuration = configuration;
+		this.seed = seed;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public AbstractInstance getInstance() {
+		return instance;
+	}
+
+	public AlgorithmConfiguration getConfiguration() {
+		return configuration;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	@Override
+	public String toString() {
+		return name + " (" + instance.getName() + ", seed " + seed + ")";
+	}
+}
@@ -0,0 +1,83 @@
+package tsp.algorithm.batch;
+
+import tsp.algorithm.individual.Chromosome;
+
+/***
+ * Outcome of one batch job: the best coloring with its color and conflict
+ * counts, or the failure that stopped the run.
+ */
+public class BatchResult {
+
+	private BatchJob job;
+
+	private Chromosome best;
+	private int colorCount;
+	private int conflictCount;
+	private int generations;
+	private long evaluations;
+	private long elapsedNanos;
+
+	private Throwable failure;
+
+	BatchResult(BatchJob job, Chromosome best, int colorCount, int conflictCount, int generations,
+			long evaluations, long elapsedNanos) {
+		this.job = job;
+		this.best = best;
+		this.colorCount = colorCount;
+		this.conflictCount = conflictCount;
+		this.generations = generations;
+		this.evaluations = evaluations;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	BatchResult(BatchJob job, Throwable failure, long elapsedNanos) {
+		this.job = job;
+		this.failure = failure;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	public BatchJob getJob() {
+		return job;
+	}
+
+	public boolean isFailed() {
+		return failure != null;
+	}
+
+	public Throwable getFailure() {
+		return failure;
+	}
+
+	public Chromosome getBest() {
+		return best;
+	}
+
+	public int getColorCount() {
+		return colorCount;
+	}
+
+	public int getConflictCount() {
+		return conflictCount;
+	}
+
+	public int getGenerations() {
+		return generations;
+	}
+
+	public long getEvaluations() {
+		return evaluations;
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	@Override
+	public String toString() {
+		if (isFailed()) {
+			return job + " failed: " + failure;
+		}
+		return job + " colors " + colorCount + " conflicts " + conflictCount + " generations " + generations
+				+ " time " + elapsedNanos / 1000000 + " ms";
+	}
+}
@@ -0,0 +1,97 @@
+package tsp.algorithm.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import tsp.algorithm.Algorithm;
+import tsp.algorithm.EvolutionStatus;
+import tsp.algorithm.individual.Chromosome;
+import tsp.algorithm.util.FitnessCalculator;
+import tsp.algorithm.util.RandomGenerator;
+
+/***
+ * Runs independent jobs concurrently on a fixed number of threads. Every job
+ * gets its own algorithm from its configuration, so runs share only the
+ * (read-only) instances, and is seeded with the job's seed, so a job can be
+ * replayed alone with the same result. Results are passed to the consumer on the calling
+ * thread as soon as each job completes; a failing job yields a failed result
+ * and does not stop the others.
+ */
+public class BatchRunner {
+
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+
+	public List<BatchResult> run(List<BatchJob> jobs) {
+		return run(jobs, result -> {
+		});
+	}
+
+	public List<BatchResult> run(List<BatchJob> jobs, Consumer<BatchResult> resultConsumer) {
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, jobs.size())));
+		try {
+			CompletionService<BatchResult> completionService = new ExecutorCompletionService<>(executor);
+			for (BatchJob job : jobs) {
+				completionService.submit(() -> execute(job));
+			}
+
+			List<BatchResult> results = new ArrayList<>(jobs.size());
+			for (int i = 0; i < jobs.size(); i++) {
+				BatchResult result = completionService.take().get();
+				results.add(result);
+				resultConsumer.accept(result);
+			}
+			return results;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for batch results", e);
+		} catch (ExecutionException e) {
+			// execute() catches everything, cannot happen
+			throw new IllegalStateException("Batch job failed", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private BatchResult execute(BatchJob job) {
+		long start = System.nanoTime();
+		try (Algorithm algorithm = job.getConfiguration().create(job.getInstance(), job.getSeed())) {
+			algorithm.setRandomGenerator(new RandomGenerator(job.getSeed()));
+			Chromosome best = algorithm.execute(job.getInstance());
+
+			FitnessCalculator fitnessCalculator = algorithm.getFitnessCalculator();
+			EvolutionStatus status = algorithm.getStatus();
+
+			return new BatchResult(job, best, fitnessCalculator.countColors(best),
+					fitnessCalculator.countInvalidEdges(best), status.getGenerations(), status.getEvaluations(),
+					System.nanoTime() - start);
+		} catch (RuntimeException | Error e) {
+			return new BatchResult(job, e, System.nanoTime() - start);
+		}
+	}
+
+	public static class BatchRunnerBuilder {
+		private BatchRunner builtRunner;
+
+		public BatchRunnerBuilder() {
+			this.builtRunner = new BatchRunner();
+		}
+
+		/**
+		 * Number of jobs running at once, available processors by default.
+		 */
+		public BatchRunnerBuilder parallelism(int parallelism) {
+			builtRunner.parallelism = parallelism;
+			return this;
+		}
+
+		public BatchRunner build() {
+			return builtRunner;
+		}
+	}
+}
@@ -5,5 +5,19 @@ import org.javatuples.Pair;
 import tsp.algorithm.individual.Chromosome;
 
 public interface CrossoverOperator {
-	Pair<Chromosome, Chromosome> crossover(Chromosome firstParent, Chromosome secondParent);
+
+	/**
+	 * Writes offspring of the parents into preallocated children. Children must
+	 * have the parents' length and must not be any of the parents.
+	 */
+	void crossover(Chromosome firstParent, Chromosome secondParent, Chromosome firstChild, Chromosome secondChild);
+
+	default Pair<Chromosome, Chromosome> crossover(Chromosome firstParent, Chromosome secondParent) {
+		Chromosome firstChild = new Chromosome(firstParent.getLength());
+		Chromosome secondChild = new Chromosome(secondParent.getLength());
+
+		crossover(firstParent, secondParent, firstChild, secondChild);
+
+		return new Pair<>(firstChild, secondChild);
+	}
 }
@@ -1,23 +1,23 @@
 package tsp.algorithm.crossover;
 
-import java.util.Set;
-import java.util.TreeSet;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-
-import org.javatuples.Pair;
+import java.util.Arrays;
 
 import tsp.algorithm.individual.Chromosome;
 import tsp.algorithm.util.RandomGenerator;
+import tsp.algorithm.util.RandomGeneratorAware;
 
-public class MultiplePointCrossoverOperator implements CrossoverOperator {
+public class MultiplePointCrossoverOperator implements CrossoverOperator, RandomGeneratorAware {
 
 	private RandomGenerator randomGenerator;
 	private int points;
+
+	// per thread scratch for sorted crossover points
+	private ThreadLocal<int[]> crossoverPoints;
 	
 	public MultiplePointCrossoverOperator(int points, RandomGenerator randomGenerator) {
 		this.randomGenerator = randomGenerator;
 		this.points = points;
+		this.crossoverPoints = ThreadLocal.withInitial(() -> new int[points]);
 	}
 	
 	public MultiplePointCrossoverOperator(int points) {
@@ -26,21 +26,32 @@ public class MultiplePointCrossoverOperator implements CrossoverOperator {
 
 
 	@Override
-	public Pair<Chromosome, Chromosome> crossover(Chromosome firstParent, Chromosome secondParent) {
-		int chromosomeLength = firstParent.getLength();
+	public void setRandomGenerator(RandomGenerator randomGenerator) {
+		this.randomGenerator = randomGenerator;
+	}
 
-		Chromosome childOne = new Chromosome(firstParent);
-		Chromosome childTwo = new Chromosome(secondParent);
+	@Override
+	public void crossover(Chromosome firstParent, Chromosome secondParent, Chromosome childOne, Chromosome childTwo) {
+		int chromosomeLength = firstParent.getLength();
 
-		Set<Integer> randomCrossoverPoints = IntStream.range(0, points)
-				.map(i -> randomGenerator.generateIntInRangeExclusive(0, chromosomeLength - 1)).mapToObj(Integer::new)
-				.collect(Collectors.toSet());
+		childOne.copyFrom(firstParent);
+		childTwo.copyFrom(secondParent);
 
-		Set<Integer> sortedCrossoverPoints = new TreeSet<>(randomCrossoverPoints);
+		int[] sortedCrossoverPoints = crossoverPoints.get();
+		for (int i = 0; i < points; i++) {
+			sortedCrossoverPoints[i] = randomGenerator.generateIntInRangeExclusive(0, chromosomeLength - 1);
+		}
+		Arrays.sort(sortedCrossoverPoints);
 
 		int geneIterator = 0;
 		boolean parentSwap = true;
-		for (Integer crossoverPoint : sortedCrossoverPoints) {
+		for (int k = 0; k < points; k++) {
+			int crossoverPoint = sortedCrossoverPoints[k];
+
+			// repeated point counts once
+			if (k > 0 && crossoverPoint == sortedCrossoverPoints[k - 1]) {
+				continue;
+			}
 
 			for (; geneIterator <= crossoverPoint; geneIterator++) {
 				if (parentSwap) {
@@ -64,8 +75,6 @@ public class MultiplePointCrossoverOperator implements CrossoverOperator {
 				childTwo.setGeneAt(geneIterator, firstParent.getGeneAt(geneIterator));
 			}
 		}
-
-		return new Pair<>(childOne, childTwo);
 	}
 
 	@Override
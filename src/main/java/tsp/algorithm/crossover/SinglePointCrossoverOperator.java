@@ -1,13 +1,10 @@
 package tsp.algorithm.crossover;
 
-import java.util.stream.IntStream;
-
-import org.javatuples.Pair;
-
 import tsp.algorithm.individual.Chromosome;
 import tsp.algorithm.util.RandomGenerator;
+import tsp.algorithm.util.RandomGeneratorAware;
 
-public class SinglePointCrossoverOperator implements CrossoverOperator {
+public class SinglePointCrossoverOperator implements CrossoverOperator, RandomGeneratorAware {
 
 	private RandomGenerator randomGenerator;
 
@@ -19,21 +16,24 @@ public class SinglePointCrossoverOperator implements CrossoverOperator {
 		this.randomGenerator = randomGenerator;
 	}
 
+	@Override
+	public void setRandomGenerator(RandomGenerator randomGenerator) {
+		this.randomGenerator = randomGenerator;
+	}
+
 	@Override 
-	public Pair<Chromosome, Chromosome> crossover(Chromosome firstParent, Chromosome secondParent) {
+	public void crossover(Chromosome firstParent, Chromosome secondParent, Chromosome childOne, Chromosome childTwo) {
 		int chromosomeLength = firstParent.getLength();
 
-		Chromosome childOne = new Chromosome(firstParent);
-		Chromosome childTwo = new Chromosome(secondParent);
+		childOne.copyFrom(firstParent);
+		childTwo.copyFrom(secondParent);
 
 		int crossoverPoint = randomGenerator.generateIntInRangeExclusive(0, chromosomeLength - 1);
 
-		IntStream.range(crossoverPoint, chromosomeLength).forEach((i) -> {
+		for (int i = crossoverPoint; i < chromosomeLength; i++) {
 			childOne.setGeneAt(i, secondParent.getGeneAt(i));
 			childTwo.setGeneAt(i, firstParent.getGeneAt(i));
-		});
-
-		return new Pair<>(childOne, childTwo);
+		}
 	}
 
 	@Override
@@ -1,13 +1,10 @@
 package tsp.algorithm.crossover;
 
-import java.util.stream.IntStream;
-
-import org.javatuples.Pair;
-
 import tsp.algorithm.individual.Chromosome;
 import tsp.algorithm.util.RandomGenerator;
+import tsp.algorithm.util.RandomGeneratorAware;
 
-public class TwoPointCrossoverOperator implements CrossoverOperator {
+public class TwoPointCrossoverOperator implements CrossoverOperator, RandomGeneratorAware {
 
 	private RandomGenerator randomGenerator;
 
@@ -19,12 +16,17 @@ public class TwoPointCrossoverOperator implements CrossoverOperator {
 		this.randomGenerator = randomGenerator;
 	}
 
+	@Override
+	public void setRandomGenerator(RandomGenerator randomGenerator) {
+		this.randomGenerator = randomGenerator;
+	}
+
 	@Override 
-	public Pair<Chromosome, Chromosome> crossover(Chromosome firstParent, Chromosome secondParent) {
+	public void crossover(Chromosome firstParent, Chromosome secondParent, Chromosome childOne, Chromosome childTwo) {
 		int chromosomeLength = firstParent.getLength();
 
-		Chromosome childOne = new Chromosome(firstParent);
-		Chromosome childTwo = new Chromosome(secondParent);
+		childOne.copyFrom(firstParent);
+		childTwo.copyFrom(secondParent);
 
 		int crossoverPointA = randomGenerator.generateIntInRangeExclusive(0, chromosomeLength - 1);
 		int crossoverPointB = randomGenerator.generateIntInRangeExclusive(0, chromosomeLength - 1);
@@ -33,12 +35,10 @@ public class TwoPointCrossoverOperator implements CrossoverOperator {
 		int crossoverEnd = (int) Math.max(crossoverPointA, crossoverPointB);
 
 		
-		IntStream.range(crossoverStart, crossoverEnd).forEach((i) -> {
+		for (int i = crossoverStart; i < crossoverEnd; i++) {
 			childOne.setGeneAt(i, secondParent.getGeneAt(i));
 			childTwo.setGeneAt(i, firstParent.getGeneAt(i));
-		});
-
-		return new Pair<>(childOne, childTwo);
+		}
 	}
 
 	@Override
@@ -2,37 +2,165 @@ package tsp.algorithm.individual;
 
 import java.util.Arrays;
 
+import tsp.algorithm.util.IncrementalState;
+import tsp.algorithm.util.RandomGenerator;
+
+/**
+ * Coloring of the graph, gene i being the color of vertex i. Genes are either
+ * owned by the chromosome or are a view of a slice of a larger array shared by
+ * the whole population.
+ */
 public class Chromosome {
 	
 	private int[] genes = null;
+	private int offset = 0;
+	private int length;
+
+	// cached evaluation, invalidated whenever a gene changes
+	private boolean evaluated = false;
+	private int colorCount;
+	private int conflictCount;
+	private double fitness;
+
+	// kept by the incremental evaluator, valid only together with the cached evaluation
+	private IncrementalState incrementalState;
+	private boolean incrementalStateValid = false;
 
 	public Chromosome(int length) {
 		this.genes = new int[length];
+		this.length = length;
 	}
 	
 	public Chromosome(Chromosome otherChromosome) {
-		this(otherChromosome.getLength());
-		
-		genes = Arrays.copyOf(otherChromosome.genes, genes.length);
+		this.genes = Arrays.copyOfRange(otherChromosome.genes, otherChromosome.offset,
+				otherChromosome.offset + otherChromosome.length);
+		this.length = otherChromosome.length;
+
+		copyEvaluation(otherChromosome);
+	}
+
+	/**
+	 * Creates a view of genes[offset .. offset + length), changes are written
+	 * through to the given array.
+	 */
+	public Chromosome(int[] genes, int offset, int length) {
+		this.genes = genes;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	/**
+	 * Overwrites genes and cached evaluation with those of the other chromosome
+	 * of the same length.
+	 */
+	public void copyFrom(Chromosome otherChromosome) {
+		if (otherChromosome == this) {
+			return;
+		}
+
+		System.arraycopy(otherChromosome.genes, otherChromosome.offset, genes, offset, length);
+		copyEvaluation(otherChromosome);
+	}
+
+	private void copyEvaluation(Chromosome otherChromosome) {
+		evaluated = otherChromosome.evaluated;
+		colorCount = otherChromosome.colorCount;
+		conflictCount = otherChromosome.conflictCount;
+		fitness = otherChromosome.fitness;
+
+		incrementalStateValid = otherChromosome.hasIncrementalState();
+		if (incrementalStateValid) {
+			getIncrementalState().copyFrom(otherChromosome.incrementalState);
+		}
 	}
 
 	public int getLength() {
-		return genes.length;
+		return length;
 	}
 	
 	public void setGeneAt(int i, int value) {
-		this.genes[i] = value;
+		if (this.genes[offset + i] != value) {
+			this.genes[offset + i] = value;
+			this.evaluated = false;
+			this.incrementalStateValid = false;
+		}
 	}
 	
+	/**
+	 * Sets all genes to random values from [0, colorRange) with one bulk call
+	 * of the generator.
+	 */
+	public void randomizeGenes(RandomGenerator randomGenerator, int colorRange) {
+		randomGenerator.fillIntsInRange(genes, offset, length, 0, colorRange);
+		this.evaluated = false;
+		this.incrementalStateValid = false;
+	}
+
 	public int getGeneAt(int i) {
-		return this.genes[i];
+		return this.genes[offset + i];
+	}
+
+	public boolean isEvaluated() {
+		return evaluated;
+	}
+
+	public void cacheEvaluation(int colorCount, int conflictCount, double fitness) {
+		this.colorCount = colorCount;
+		this.conflictCount = conflictCount;
+		this.fitness = fitness;
+		this.evaluated = true;
+		this.incrementalStateValid = false;
+	}
+
+	/**
+	 * Caches the evaluation together with the incremental state (see
+	 * {@link #getIncrementalState()}) which matches it.
+	 */
+	public void cacheIncrementalEvaluation(int colorCount, int conflictCount, double fitness) {
+		cacheEvaluation(colorCount, conflictCount, fitness);
+		this.incrementalStateValid = incrementalState != null;
+	}
+
+	public void invalidateEvaluation() {
+		this.evaluated = false;
+		this.incrementalStateValid = false;
+	}
+
+	/**
+	 * Tells if the incremental state matches the genes.
+	 */
+	public boolean hasIncrementalState() {
+		return evaluated && incrementalStateValid;
+	}
+
+	/**
+	 * Returns the incremental state object of this chromosome, created on first
+	 * use. Its content is meaningful only if {@link #hasIncrementalState()}.
+	 */
+	public IncrementalState getIncrementalState() {
+		if (incrementalState == null) {
+			incrementalState = new IncrementalState();
+		}
+		return incrementalState;
+	}
+
+	public int getCachedColorCount() {
+		return colorCount;
+	}
+
+	public int getCachedConflictCount() {
+		return conflictCount;
+	}
+
+	public double getCachedFitness() {
+		return fitness;
 	}
 	
 	@Override
 	public String toString() {
 		StringBuilder builder = new StringBuilder();
-		for (int i = 0; i < genes.length; i++) {
-			builder.append(genes[i] + (i == genes.length - 1 ? "" : " -> "));
+		for (int i = 0; i < length; i++) {
+			builder.append(getGeneAt(i) + (i == length - 1 ? "" : " -> "));
 		}
 		return builder.toString();
 	}
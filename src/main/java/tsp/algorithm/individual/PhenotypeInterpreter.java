@@ -1,13 +1,15 @@
 package tsp.algorithm.individual;
 
-import java.util.stream.IntStream;
-
 import tsp.algorithm.util.RandomGenerator;
+import tsp.algorithm.util.RandomGeneratorAware;
 
-public class PhenotypeInterpreter {
+public class PhenotypeInterpreter implements RandomGeneratorAware {
 
 	private RandomGenerator randomGenerator;
 
+	// 0 - colors are bounded only by the graph size
+	private int colorLimit = 0;
+
 	public PhenotypeInterpreter() {
 		this.randomGenerator = new RandomGenerator();
 	}
@@ -16,25 +18,49 @@ public class PhenotypeInterpreter {
 		this.randomGenerator = randomGenerator;
 	}
 	
+	@Override
+	public void setRandomGenerator(RandomGenerator randomGenerator) {
+		this.randomGenerator = randomGenerator;
+	}
+
+	/**
+	 * Switches to fixed k coloring: generated and mutated genes are drawn from
+	 * [0, colorLimit) and fitness counts only conflicts. 0 switches back to
+	 * colors bounded by the graph size.
+	 */
+	public void setColorLimit(int colorLimit) {
+		this.colorLimit = colorLimit;
+	}
+
+	public int getColorLimit() {
+		return colorLimit;
+	}
+
+	public boolean isColorLimited() {
+		return colorLimit > 0;
+	}
+
+	/**
+	 * Returns number of colors genes of a graph of given size may take.
+	 */
+	public int getColorRange(int graphSize) {
+		return colorLimit > 0 ? colorLimit : graphSize;
+	}
+
 	public Chromosome generateRandomChromosome(int graphSize) {
 		Chromosome chromosome = new Chromosome(graphSize);
 
-		IntStream.range(0, graphSize).forEach((i) -> {
-			chromosome.setGeneAt(i, randomGenerator.generateIntInRangeExclusive(0, graphSize));
-		});
+		randomizeChromosome(chromosome);
 
 		return chromosome;
 	}
-	
-//	public Chromosome generateGreedyChromosome(AbstractInstance instance, int graphSize) {
-//		Chromosome chromosome = new Chromosome(graphSize);
-//
-//		IntStream.range(0, graphSize).forEach((i) -> {
-//			// set first possible color
-//		});
-//
-//		return chromosome;
-//	}
+
+	/**
+	 * Assigns random colors to all genes of existing chromosome.
+	 */
+	public void randomizeChromosome(Chromosome chromosome) {
+		chromosome.randomizeGenes(randomGenerator, getColorRange(chromosome.getLength()));
+	}
 	
 	public int getColor(Chromosome chromosome, int vertexId) {
 		return chromosome.getGeneAt(vertexId);
@@ -3,13 +3,21 @@ package tsp.algorithm.inversion;
 
 import tsp.algorithm.individual.Chromosome;
 import tsp.algorithm.util.RandomGenerator;
+import tsp.algorithm.util.RandomGeneratorAware;
 
-public class InversionOperator {
+public class InversionOperator implements RandomGeneratorAware {
 	private RandomGenerator randomGenerator = new RandomGenerator();
-	
+
+	@Override
+	public void setRandomGenerator(RandomGenerator randomGenerator) {
+		this.randomGenerator = randomGenerator;
+	}
+
+	/**
+	 * Reverses order of genes between two random points, in place.
+	 */
 	public void inverse(Chromosome chromosome) {
 		int chromosomeLength = chromosome.getLength();
-		Chromosome mutated = new Chromosome(chromosome);
 
 		int inversionPointA = randomGenerator.generateIntInRangeExclusive(0, chromosomeLength);
 		int inversionPointB = randomGenerator.generateIntInRangeExclusive(0, chromosomeLength);
@@ -17,11 +25,11 @@ public class InversionOperator {
 		int inversionStart = (int) Math.min(inversionPointA, inversionPointB);
 		int inversionEnd = (int) Math.max(inversionPointA, inversionPointB);
 
-		for(int i = 0 ; i < inversionEnd - inversionStart; i++) {
-			mutated.setGeneAt(inversionStart + i, chromosome.getGeneAt(inversionEnd - i - 1));;
+		for(int i = inversionStart, j = inversionEnd - 1 ; i < j; i++, j--) {
+			int gene = chromosome.getGeneAt(i);
+			chromosome.setGeneAt(i, chromosome.getGeneAt(j));
+			chromosome.setGeneAt(j, gene);
 		}
-		
-		chromosome = mutated;
 	}
 
 	
@@ -0,0 +1,270 @@
+package tsp.algorithm.island;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import tsp.algorithm.Algorithm;
+import tsp.algorithm.individual.Chromosome;
+import tsp.algorithm.population.Population;
+import tsp.algorithm.util.FitnessCalculator;
+import tsp.algorithm.util.RandomGenerator;
+import tsp.instance.AbstractInstance;
+
+/***
+ * Island model genetic algorithm. Every island evolves its own population with
+ * its own {@link Algorithm} on a separate thread. Every migration interval an
+ * island sends copies of its best chromosomes to the islands chosen by the
+ * topology and replaces its worst chromosomes with the migrants it has received.
+ *
+ * Migration buffers are bounded queues used only through non-blocking offer and
+ * poll, so islands never wait for each other. When a buffer is full its oldest
+ * migrant is dropped.
+ *
+ * Every island checks the termination policy of its algorithm after each
+ * generation, the first one meeting it stops the whole model.
+ */
+public class IslandModel {
+
+	private volatile boolean running = true;
+
+	private Supplier<Algorithm> algorithmFactory;
+
+	// parameters
+	private int numberOfIslands = Runtime.getRuntime().availableProcessors();
+	private int numberOfGenerations = 0;
+	private int migrationInterval = 10;
+	private int numberOfMigrants = 1;
+	private int migrationBufferCapacity = 16;
+	private MigrationTopology topology = MigrationTopology.RING;
+	private RandomGenerator randomGenerator;
+
+	private List<Island> islands;
+
+	public synchronized Chromosome execute(AbstractInstance instance) {
+		running = true;
+
+		islands = new ArrayList<>();
+		for (int i = 0; i < numberOfIslands; i++) {
+			Algorithm algorithm = algorithmFactory.get();
+			if (randomGenerator != null) {
+				algorithm.setRandomGenerator(randomGenerator.split(i));
+			}
+			islands.add(new Island(i, algorithm));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(numberOfIslands);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (Island island : islands) {
+				futures.add(executor.submit(() -> island.evolve(instance)));
+			}
+
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for islands", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Island evolution failed", e.getCause());
+		} finally {
+			running = false;
+			executor.shutdownNow();
+
+			// algorithms come from the factory for this run only, their results stay readable
+			for (Island island : islands) {
+				island.algorithm.close();
+			}
+		}
+
+		Island bestIsland = islands.get(0);
+		for (Island island : islands) {
+			if (island.getBestFitness() > bestIsland.getBestFitness()) {
+				bestIsland = island;
+			}
+		}
+
+		Chromosome best = bestIsland.algorithm.getCurrentBest();
+		bestIsland.algorithm.applyResultFix(instance, best);
+
+		return best;
+	}
+
+	public void terminate() {
+		running = false;
+	}
+
+	private class Island {
+
+		private int index;
+		private Algorithm algorithm;
+		private ArrayBlockingQueue<Chromosome> migrationBuffer;
+
+		Island(int index, Algorithm algorithm) {
+			this.index = index;
+			this.algorithm = algorithm;
+			this.migrationBuffer = new ArrayBlockingQueue<>(migrationBufferCapacity);
+		}
+
+		void evolve(AbstractInstance instance) {
+			algorithm.initialize(instance);
+			Population population = algorithm.generateInitialPopulation(instance);
+			// steady state evolves the population in place
+			Population[] buffers = algorithm.isSteadyState() ? null
+					: new Population[] { population, new Population(population.getSize(), instance.getSize()) };
+
+			for (int generation = 0; running
+					&& (numberOfGenerations <= 0 || generation < numberOfGenerations); generation++) {
+				Population evolvedPopulation = buffers != null ? buffers[(generation + 1) % 2] : population;
+				algorithm.evolveGeneration(population, evolvedPopulation, generation);
+				population = evolvedPopulation;
+
+				if ((generation + 1) % migrationInterval == 0) {
+					emigrate(population);
+					immigrate(population);
+				}
+
+				if (algorithm.shouldTerminate()) {
+					running = false;
+				}
+			}
+		}
+
+		private void emigrate(Population population) {
+			int[] emigrants = selectExtremes(population, true);
+
+			for (int target : topology.getTargets(index, numberOfIslands)) {
+				ArrayBlockingQueue<Chromosome> targetBuffer = islands.get(target).migrationBuffer;
+
+				for (int emigrant : emigrants) {
+					Chromosome migrant = new Chromosome(population.getChromosome(emigrant));
+
+					while (!targetBuffer.offer(migrant)) {
+						targetBuffer.poll();
+					}
+				}
+			}
+		}
+
+		private void immigrate(Population population) {
+			if (migrationBuffer.isEmpty()) {
+				return;
+			}
+
+			for (int worst : selectExtremes(population, false)) {
+				Chromosome migrant = migrationBuffer.poll();
+				if (migrant == null) {
+					break;
+				}
+				population.saveChromosome(worst, migrant);
+			}
+			algorithm.invalidatePopulation();
+		}
+
+		/**
+		 * Returns indexes of numberOfMigrants best (or worst) chromosomes.
+		 */
+		private int[] selectExtremes(Population population, boolean best) {
+			FitnessCalculator fitnessCalculator = algorithm.getFitnessCalculator();
+			int count = Math.min(numberOfMigrants, population.getSize());
+
+			int[] selected = new int[count];
+			boolean[] taken = new boolean[population.getSize()];
+
+			for (int k = 0; k < count; k++) {
+				int extreme = -1;
+				double extremeFitness = 0;
+
+				for (int i = 0; i < population.getSize(); i++) {
+					if (taken[i]) {
+						continue;
+					}
+
+					double fitness = fitnessCalculator.calculateFitness(population.getChromosome(i));
+					if (extreme == -1 || (best ? fitness > extremeFitness : fitness < extremeFitness)) {
+						extreme = i;
+						extremeFitness = fitness;
+					}
+				}
+
+				taken[extreme] = true;
+				selected[k] = extreme;
+			}
+
+			return selected;
+		}
+
+		double getBestFitness() {
+			Chromosome best = algorithm.getCurrentBest();
+			return best == null ? 0 : algorithm.getFitnessCalculator().calculateFitness(best);
+		}
+	}
+
+	public static class IslandModelBuilder {
+		private IslandModel builtModel;
+
+		public IslandModelBuilder() {
+			this.builtModel = new IslandModel();
+		}
+
+		/**
+		 * Supplies the algorithm of every island. Each call must return a new
+		 * algorithm with its own chooser, since choosers may hold per-population
+		 * state.
+		 */
+		public IslandModelBuilder algorithmFactory(Supplier<Algorithm> algorithmFactory) {
+			builtModel.algorithmFactory = algorithmFactory;
+			return this;
+		}
+
+		public IslandModelBuilder numberOfIslands(int numberOfIslands) {
+			builtModel.numberOfIslands = numberOfIslands;
+			return this;
+		}
+
+		public IslandModelBuilder numberOfGenerations(int numberOfGenerations) {
+			builtModel.numberOfGenerations = numberOfGenerations;
+			return this;
+		}
+
+		public IslandModelBuilder migrationInterval(int migrationInterval) {
+			builtModel.migrationInterval = migrationInterval;
+			return this;
+		}
+
+		public IslandModelBuilder numberOfMigrants(int numberOfMigrants) {
+			builtModel.numberOfMigrants = numberOfMigrants;
+			return this;
+		}
+
+		public IslandModelBuilder migrationBufferCapacity(int migrationBufferCapacity) {
+			builtModel.migrationBufferCapacity = migrationBufferCapacity;
+			return this;
+		}
+
+		public IslandModelBuilder topology(MigrationTopology topology) {
+			builtModel.topology = topology;
+			return this;
+		}
+
+		/**
+		 * Gives every island its own stream split from the seed. Islands evolve
+		 * reproducibly between migrations, but migrants arrive depending on the
+		 * thread timing.
+		 */
+		public IslandModelBuilder randomSeed(long seed) {
+			builtModel.randomGenerator = new RandomGenerator(seed);
+			return this;
+		}
+
+		public IslandModel build() {
+			return builtModel;
+		}
+	}
+}
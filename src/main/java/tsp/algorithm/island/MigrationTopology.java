@@ -0,0 +1,40 @@
+package tsp.algorithm.island;
+
+/***
+ * Defines to which islands an island sends its migrants.
+ */
+public enum MigrationTopology {
+
+	/**
+	 * Each island sends migrants to the next one, the last one to the first.
+	 */
+	RING {
+		@Override
+		public int[] getTargets(int island, int numberOfIslands) {
+			if (numberOfIslands < 2) {
+				return new int[0];
+			}
+			return new int[] { (island + 1) % numberOfIslands };
+		}
+	},
+
+	/**
+	 * Each island sends migrants to every other island.
+	 */
+	FULLY_CONNECTED {
+		@Override
+		public int[] getTargets(int island, int numberOfIslands) {
+			int[] targets = new int[Math.max(0, numberOfIslands - 1)];
+
+			int target = 0;
+			for (int i = 0; i < numberOfIslands; i++) {
+				if (i != island) {
+					targets[target++] = i;
+				}
+			}
+			return targets;
+		}
+	};
+
+	public abstract int[] getTargets(int island, int numberOfIslands);
+}
@@ -0,0 +1,11 @@
+package tsp.algorithm.localsearch;
+
+import tsp.algorithm.individual.Chromosome;
+
+/**
+ * Improves a chromosome in place. Used by the algorithm on a fraction of the
+ * offspring after mutation and inversion.
+ */
+public interface LocalSearchOperator {
+	void improve(Chromosome chromosome);
+}
@@ -0,0 +1,417 @@
+package tsp.algorithm.localsearch;
+
+import java.util.Arrays;
+
+import tsp.algorithm.individual.Chromosome;
+import tsp.algorithm.individual.PhenotypeInterpreter;
+import tsp.algorithm.util.IndexedIntSet;
+import tsp.algorithm.util.RandomGenerator;
+import tsp.algorithm.util.RandomGeneratorAware;
+import tsp.instance.AbstractInstance;
+import tsp.instance.CompressedSparseRowInstance;
+
+/**
+ * Tabucol local search (Hertz, de Werra). Colors of the chromosome are
+ * relabelled to k = number of used colors (at most max degree + 1, smallest
+ * color classes are merged into the others), then conflicts are minimised by
+ * best non-tabu single vertex recolorings. Whenever the coloring becomes legal
+ * the smallest color class is dissolved and the search continues with k - 1
+ * colors.
+ * 
+ * The gamma matrix holds the number of neighbours of each vertex having each
+ * color, so every move is evaluated in O(1) and applied in O(deg(v)). It and
+ * the tabu matrix take n * k ints, sized to the k actually searched and grown
+ * on demand. A
+ * recolored vertex may not take its old color back for a tenure of
+ * random(0, 9) + 0.6 * (conflicting vertices) iterations, unless that reaches
+ * fewer conflicts than ever seen (aspiration).
+ * 
+ * The best coloring by colors + conflicts found within the iteration budget is
+ * written back if it is better than the original one. When the interpreter
+ * limits colors, k is the limit, no class is dissolved and only conflicts are
+ * compared. Safe to share between
+ * threads - every thread works in its own buffers.
+ */
+public class TabucolLocalSearchOperator implements LocalSearchOperator, RandomGeneratorAware {
+
+	private static final int TENURE_RANDOM_PART = 10;
+	private static final double TENURE_CONFLICTS_FACTOR = 0.6;
+
+	private PhenotypeInterpreter interpreter;
+	private CompressedSparseRowInstance graph;
+	private RandomGenerator randomGenerator;
+
+	private int maxIterations;
+	private int maxColors;
+
+	private ThreadLocal<Workspace> workspaces;
+
+	public TabucolLocalSearchOperator(PhenotypeInterpreter interpreter, AbstractInstance instance, int maxIterations) {
+		this(interpreter, instance, maxIterations, new RandomGenerator());
+	}
+
+	public TabucolLocalSearchOperator(PhenotypeInterpreter interpreter, AbstractInstance instance, int maxIterations,
+			RandomGenerator randomGenerator) {
+		this.interpreter = interpreter;
+		this.graph = instance.getCompressedView();
+		this.maxIterations = maxIterations;
+		this.randomGenerator = randomGenerator;
+
+		int maxDegree = 0;
+		for (int v = 0; v < graph.getSize(); v++) {
+			maxDegree = Math.max(maxDegree, graph.getDegree(v));
+		}
+		// greedy coloring never needs more, larger k would only grow the gamma matrix
+		this.maxColors = maxDegree + 1;
+
+		this.workspaces = ThreadLocal.withInitial(() -> new Workspace(graph.getSize()));
+	}
+
+	@Override
+	public void setRandomGenerator(RandomGenerator randomGenerator) {
+		this.randomGenerator = randomGenerator;
+	}
+
+	@Override
+	public void improve(Chromosome chromosome) {
+		// with limited colors k stays fixed and only conflicts are minimised
+		boolean fixedColors = interpreter.isColorLimited();
+
+		Workspace workspace = workspaces.get();
+		workspace.load(chromosome);
+		int originalScore = fixedColors ? workspace.conflicts : workspace.k + workspace.conflicts;
+
+		if (fixedColors) {
+			workspace.compact(Math.min(maxColors, interpreter.getColorLimit()));
+			workspace.k = Math.min(maxColors, interpreter.getColorLimit());
+		} else {
+			workspace.compact(maxColors);
+		}
+		workspace.rebuild();
+
+		int bestScore = originalScore;
+		boolean improved = false;
+		int bestConflicts = workspace.conflicts;
+
+		for (int iteration = 0; iteration < maxIterations; iteration++) {
+			if (workspace.conflicts == 0) {
+				int score = fixedColors ? 0 : workspace.k;
+				if (score < bestScore) {
+					bestScore = score;
+					workspace.saveBest();
+					improved = true;
+				}
+				if (fixedColors || workspace.k == 1) {
+					break;
+				}
+
+				workspace.dissolveSmallestColorClass();
+				workspace.rebuild();
+				bestConflicts = workspace.conflicts;
+				continue;
+			}
+
+			if (workspace.k == 1) {
+				// single color left with conflicts, no move possible
+				break;
+			}
+
+			workspace.move(iteration, bestConflicts);
+			bestConflicts = Math.min(bestConflicts, workspace.conflicts);
+
+			int score = fixedColors ? workspace.conflicts : workspace.k + workspace.conflicts;
+			if (score < bestScore) {
+				bestScore = score;
+				workspace.saveBest();
+				improved = true;
+			}
+		}
+
+		if (improved) {
+			for (int v = 0; v < chromosome.getLength(); v++) {
+				interpreter.setColor(chromosome, v, workspace.best[v]);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "Tabucol Local Search Operator (" + maxIterations + " iterations)";
+	}
+
+	private class Workspace {
+
+		private int size;
+
+		private int k;
+		private int conflicts;
+
+		private int[] colors;
+		private int[] best;
+
+		// gamma[v * k + c] - neighbours of v with color c
+		private int[] gamma = new int[0];
+		// tabu[v * k + c] - first iteration in which v may take c again
+		private int[] tabu = new int[0];
+
+		private IndexedIntSet conflictingVertices;
+
+		// color relabelling used while loading
+		private int[] labels;
+		private int[] classSizes;
+		// first label of the classes of each size, for the counting sort
+		private int[] sizeStarts;
+
+		Workspace(int size) {
+			this.size = size;
+			this.colors = new int[size];
+			this.best = new int[size];
+			this.conflictingVertices = new IndexedIntSet(size);
+			this.labels = new int[size];
+			this.classSizes = new int[size];
+			this.sizeStarts = new int[size + 2];
+		}
+
+		/**
+		 * Copies colors relabelled to 0 .. k - 1 by decreasing class size (ties
+		 * by color) and counts conflicts. Class sizes are at most n, so they are
+		 * ordered by a counting sort in O(n).
+		 */
+		void load(Chromosome chromosome) {
+			Arrays.fill(classSizes, 0);
+			for (int v = 0; v < size; v++) {
+				classSizes[interpreter.getColor(chromosome, v)]++;
+			}
+
+			Arrays.fill(sizeStarts, 0);
+			for (int c = 0; c < size; c++) {
+				sizeStarts[classSizes[c]]++;
+			}
+			k = 0;
+			for (int classSize = size; classSize > 0; classSize--) {
+				int count = sizeStarts[classSize];
+				sizeStarts[classSize] = k;
+				k += count;
+			}
+			for (int c = 0; c < size; c++) {
+				if (classSizes[c] > 0) {
+					labels[c] = sizeStarts[classSizes[c]]++;
+				}
+			}
+
+			conflicts = 0;
+			for (int v = 0; v < size; v++) {
+				colors[v] = labels[interpreter.getColor(chromosome, v)];
+			}
+			for (int e = 0; e < graph.getEdgeCount(); e++) {
+				if (colors[graph.getEdgeFrom(e)] == colors[graph.getEdgeTo(e)]) {
+					conflicts++;
+				}
+			}
+		}
+
+		/**
+		 * Merges the smallest color classes beyond the limit into the others,
+		 * choosing for each vertex the color used least among its neighbours.
+		 */
+		void compact(int colorLimit) {
+			if (k <= colorLimit) {
+				return;
+			}
+
+			for (int v = 0; v < size; v++) {
+				if (colors[v] >= colorLimit) {
+					colors[v] = -1;
+				}
+			}
+			k = colorLimit;
+
+			for (int v = 0; v < size; v++) {
+				if (colors[v] < 0) {
+					colors[v] = leastUsedAmongNeighbors(v, -1);
+				}
+			}
+		}
+
+		private int leastUsedAmongNeighbors(int vertex, int excludedColor) {
+			int[] counts = classSizes;
+			Arrays.fill(counts, 0, k, 0);
+
+			int degree = graph.getDegree(vertex);
+			for (int i = 0; i < degree; i++) {
+				int neighborColor = colors[graph.getNeighborAt(vertex, i)];
+				if (neighborColor >= 0) {
+					counts[neighborColor]++;
+				}
+			}
+
+			int bestColor = -1;
+			for (int c = 0; c < k; c++) {
+				if (c != excludedColor && (bestColor < 0 || counts[c] < counts[bestColor])) {
+					bestColor = c;
+				}
+			}
+			return bestColor;
+		}
+
+		/**
+		 * Recolors vertices of the smallest class to their least conflicting
+		 * colors and moves the last label into the freed one.
+		 */
+		void dissolveSmallestColorClass() {
+			int[] sizes = labels;
+			Arrays.fill(sizes, 0, k, 0);
+			for (int v = 0; v < size; v++) {
+				sizes[colors[v]]++;
+			}
+
+			int smallest = 0;
+			for (int c = 1; c < k; c++) {
+				if (sizes[c] < sizes[smallest]) {
+					smallest = c;
+				}
+			}
+
+			for (int v = 0; v < size; v++) {
+				if (colors[v] == smallest) {
+					colors[v] = -1;
+				}
+			}
+			for (int v = 0; v < size; v++) {
+				if (colors[v] < 0) {
+					colors[v] = leastUsedAmongNeighbors(v, smallest);
+				}
+			}
+			for (int v = 0; v < size; v++) {
+				if (colors[v] == k - 1) {
+					colors[v] = smallest;
+				}
+			}
+			k--;
+		}
+
+		/**
+		 * Recomputes gamma, conflicts and conflicting vertices for current
+		 * colors and k, clears the tabu list.
+		 */
+		void rebuild() {
+			int cells = ensureMatrixCapacity();
+			Arrays.fill(gamma, 0, cells, 0);
+			Arrays.fill(tabu, 0, cells, 0);
+			conflictingVertices.clear();
+			conflicts = 0;
+
+			for (int v = 0; v < size; v++) {
+				int degree = graph.getDegree(v);
+				for (int i = 0; i < degree; i++) {
+					gamma[v * k + colors[graph.getNeighborAt(v, i)]]++;
+				}
+
+				int conflictsAtVertex = gamma[v * k + colors[v]];
+				if (conflictsAtVertex > 0) {
+					conflicts += conflictsAtVertex;
+					conflictingVertices.add(v);
+				}
+			}
+			conflicts /= 2;
+		}
+
+		/**
+		 * Grows gamma and tabu to at least n * k cells, returns that count.
+		 */
+		private int ensureMatrixCapacity() {
+			long cells = (long) size * k;
+			if (cells > Integer.MAX_VALUE - 8) {
+				throw new IllegalStateException(
+						"Tabucol matrices of " + size + " vertices x " + k + " colors exceed the array size limit");
+			}
+
+			if (gamma.length < cells) {
+				int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(cells, gamma.length + (gamma.length >> 1)));
+				gamma = new int[capacity];
+				tabu = new int[capacity];
+			}
+			return (int) cells;
+		}
+
+		/**
+		 * Applies the best allowed move of a conflicting vertex, ties broken at
+		 * random.
+		 */
+		void move(int iteration, int bestConflicts) {
+			int moveVertex = -1;
+			int moveColor = -1;
+			int moveDelta = Integer.MAX_VALUE;
+			int ties = 0;
+
+			for (int i = 0; i < conflictingVertices.size(); i++) {
+				int v = conflictingVertices.get(i);
+				int row = v * k;
+				int current = gamma[row + colors[v]];
+
+				for (int c = 0; c < k; c++) {
+					if (c == colors[v]) {
+						continue;
+					}
+
+					int delta = gamma[row + c] - current;
+					boolean allowed = tabu[row + c] <= iteration || conflicts + delta < bestConflicts;
+
+					if (allowed && delta <= moveDelta) {
+						if (delta < moveDelta) {
+							moveDelta = delta;
+							ties = 0;
+						}
+						if (randomGenerator.generateIntInRangeExclusive(0, ++ties) == 0) {
+							moveVertex = v;
+							moveColor = c;
+						}
+					}
+				}
+			}
+
+			if (moveVertex < 0) {
+				// every move is tabu, take a random one
+				moveVertex = conflictingVertices.getRandom(randomGenerator);
+				moveColor = (colors[moveVertex] + randomGenerator.generateIntInRangeExclusive(1, k)) % k;
+			}
+
+			int oldColor = colors[moveVertex];
+			recolor(moveVertex, moveColor);
+
+			int tenure = randomGenerator.generateIntInRangeExclusive(0, TENURE_RANDOM_PART)
+					+ (int) (TENURE_CONFLICTS_FACTOR * conflictingVertices.size());
+			tabu[moveVertex * k + oldColor] = iteration + tenure + 1;
+		}
+
+		private void recolor(int vertex, int color) {
+			int oldColor = colors[vertex];
+			conflicts += gamma[vertex * k + color] - gamma[vertex * k + oldColor];
+			colors[vertex] = color;
+
+			int degree = graph.getDegree(vertex);
+			for (int i = 0; i < degree; i++) {
+				int u = graph.getNeighborAt(vertex, i);
+				int row = u * k;
+
+				gamma[row + oldColor]--;
+				gamma[row + color]++;
+
+				updateConflicting(u);
+			}
+			updateConflicting(vertex);
+		}
+
+		private void updateConflicting(int vertex) {
+			if (gamma[vertex * k + colors[vertex]] > 0) {
+				conflictingVertices.add(vertex);
+			} else {
+				conflictingVertices.remove(vertex);
+			}
+		}
+
+		void saveBest() {
+			System.arraycopy(colors, 0, best, 0, size);
+		}
+	}
+}
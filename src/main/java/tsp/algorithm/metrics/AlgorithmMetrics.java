@@ -0,0 +1,221 @@
+package tsp.algorithm.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+import tsp.algorithm.EvolutionStatus;
+import tsp.algorithm.individual.Chromosome;
+import tsp.algorithm.population.Population;
+import tsp.algorithm.util.FitnessCalculator;
+
+/***
+ * Collects per generation metrics of an {@link tsp.algorithm.Algorithm}: time
+ * spent in every {@link Phase}, evaluations, bytes allocated by the threads
+ * running the generation and fitness statistics of the population.
+ *
+ * Phases are timed by the worker threads into striped counters, everything
+ * else is computed once per generation on the algorithm thread, which then
+ * publishes a {@link MetricsSnapshot} and passes it to the listeners. An
+ * algorithm without metrics does not read the clock at all. By default a
+ * snapshot costs O(population size), population diversity is computed only if
+ * enabled by {@link #diversitySampleSize(int)}.
+ */
+public class AlgorithmMetrics {
+
+	private static final Phase[] PHASES = Phase.values();
+
+	private final LongAdder[] phaseTotals = new LongAdder[PHASES.length];
+	private final long[] phaseTotalsAtGenerationStart = new long[PHASES.length];
+
+	private final List<MetricsListener> listeners = new CopyOnWriteArrayList<>();
+
+	private final com.sun.management.ThreadMXBean threadBean;
+	// allocated bytes of every thread which ran a phase, as read at the last generation end
+	private final Map<Long, Long> allocatedByThread = new ConcurrentHashMap<>();
+	private final ThreadLocal<Boolean> threadRegistered = ThreadLocal.withInitial(() -> false);
+
+	// genes compared per chromosome for diversity, 0 if not computed
+	private int diversitySampleSize = 0;
+
+	private long runStartNanos;
+	private long generationStartNanos;
+
+	private volatile MetricsSnapshot lastSnapshot;
+
+	public AlgorithmMetrics() {
+		for (int i = 0; i < PHASES.length; i++) {
+			phaseTotals[i] = new LongAdder();
+		}
+
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean
+				&& ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+			threadBean = (com.sun.management.ThreadMXBean) bean;
+			threadBean.setThreadAllocatedMemoryEnabled(true);
+		} else {
+			threadBean = null;
+		}
+	}
+
+	public AlgorithmMetrics addListener(MetricsListener listener) {
+		listeners.add(listener);
+		return this;
+	}
+
+	/**
+	 * Enables population diversity, compared at this many evenly spaced genes of
+	 * every chromosome (all of them if the chromosome is shorter), so it costs
+	 * O(population size * sample size) per generation. 0 disables it, then
+	 * snapshots report NaN.
+	 */
+	public AlgorithmMetrics diversitySampleSize(int diversitySampleSize) {
+		this.diversitySampleSize = diversitySampleSize;
+		return this;
+	}
+
+	/**
+	 * Resets the totals, called by the algorithm when a run starts.
+	 */
+	public void start() {
+		for (int i = 0; i < PHASES.length; i++) {
+			phaseTotals[i].reset();
+			phaseTotalsAtGenerationStart[i] = 0;
+		}
+		lastSnapshot = null;
+		runStartNanos = System.nanoTime();
+	}
+
+	/**
+	 * Returns the start time of the generation, to be passed to the first
+	 * {@link #record(Phase, long)}.
+	 */
+	public long startGeneration() {
+		registerThread();
+		for (int i = 0; i < PHASES.length; i++) {
+			phaseTotalsAtGenerationStart[i] = phaseTotals[i].sum();
+		}
+
+		generationStartNanos = System.nanoTime();
+		return generationStartNanos;
+	}
+
+	/**
+	 * Adds time from startNanos until now to the phase and returns now, so
+	 * consecutive phases can be chained. Safe to call from any thread.
+	 */
+	public long record(Phase phase, long startNanos) {
+		long now = System.nanoTime();
+		phaseTotals[phase.ordinal()].add(now - startNanos);
+		registerThread();
+		return now;
+	}
+
+	/**
+	 * Computes the snapshot of the generation which evolved the (already
+	 * evaluated) population and passes it to the listeners.
+	 */
+	public void endGeneration(int generation, Population population, FitnessCalculator fitnessCalculator,
+			EvolutionStatus status) {
+		long now = System.nanoTime();
+
+		long[] phaseNanos = new long[PHASES.length];
+		for (int i = 0; i < PHASES.length; i++) {
+			phaseNanos[i] = phaseTotals[i].sum() - phaseTotalsAtGenerationStart[i];
+		}
+
+		double bestFitness = Double.NEGATIVE_INFINITY;
+		double worstFitness = Double.POSITIVE_INFINITY;
+		double fitnessSum = 0;
+		Chromosome fittest = null;
+		for (int i = 0; i < population.getSize(); i++) {
+			Chromosome chromosome = population.getChromosome(i);
+			double fitness = fitnessCalculator.calculateFitness(chromosome);
+
+			fitnessSum += fitness;
+			worstFitness = Math.min(worstFitness, fitness);
+			if (fitness > bestFitness) {
+				bestFitness = fitness;
+				fittest = chromosome;
+			}
+		}
+
+		MetricsSnapshot snapshot = new MetricsSnapshot(generation, now - generationStartNanos, now - runStartNanos,
+				phaseNanos, population.getSize(), collectAllocatedBytes(), bestFitness,
+				fitnessSum / population.getSize(), worstFitness, calculateDiversity(population, fittest, diversitySampleSize),
+				status.getBestColorCount(), status.getBestConflictCount());
+
+		lastSnapshot = snapshot;
+		for (MetricsListener listener : listeners) {
+			listener.onGeneration(snapshot);
+		}
+	}
+
+	/**
+	 * Snapshot of the last finished generation, null before the first one.
+	 */
+	public MetricsSnapshot getLastSnapshot() {
+		return lastSnapshot;
+	}
+
+	/**
+	 * Time spent in the phase since the start of the run, summed over threads.
+	 */
+	public long getTotalNanos(Phase phase) {
+		return phaseTotals[phase.ordinal()].sum();
+	}
+
+	private void registerThread() {
+		if (threadBean != null && !threadRegistered.get()) {
+			threadRegistered.set(true);
+			long id = Thread.currentThread().getId();
+			allocatedByThread.put(id, threadBean.getThreadAllocatedBytes(id));
+		}
+	}
+
+	private long collectAllocatedBytes() {
+		if (threadBean == null) {
+			return -1;
+		}
+
+		long allocated = 0;
+		for (Map.Entry<Long, Long> entry : allocatedByThread.entrySet()) {
+			long current = threadBean.getThreadAllocatedBytes(entry.getKey());
+			if (current < 0) {
+				// thread has terminated
+				allocatedByThread.remove(entry.getKey());
+				continue;
+			}
+			allocated += current - entry.getValue();
+			entry.setValue(current);
+		}
+		return allocated;
+	}
+
+	private static double calculateDiversity(Population population, Chromosome fittest, int sampleSize) {
+		if (sampleSize <= 0) {
+			return Double.NaN;
+		}
+
+		int length = fittest.getLength();
+		if (length == 0) {
+			return 0;
+		}
+
+		int samples = Math.min(sampleSize, length);
+		long differences = 0;
+		for (int i = 0; i < population.getSize(); i++) {
+			Chromosome chromosome = population.getChromosome(i);
+			for (int s = 0; s < samples; s++) {
+				int g = (int) ((long) s * length / samples);
+				if (chromosome.getGeneAt(g) != fittest.getGeneAt(g)) {
+					differences++;
+				}
+			}
+		}
+		return (double) differences / ((long) population.getSize() * samples);
+	}
+}
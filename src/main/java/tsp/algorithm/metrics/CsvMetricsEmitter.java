@@ -0,0 +1,57 @@
+package tsp.algorithm.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/***
+ * Writes every snapshot as a CSV line, the header before the first one. Times
+ * are in nanoseconds.
+ */
+public class CsvMetricsEmitter implements MetricsListener {
+
+	private Writer writer;
+	private boolean headerWritten = false;
+
+	public CsvMetricsEmitter(Writer writer) {
+		this.writer = writer;
+	}
+
+	@Override
+	public void onGeneration(MetricsSnapshot snapshot) {
+		StringBuilder line = new StringBuilder();
+
+		if (!headerWritten) {
+			line.append("generation,elapsed_ns,generation_ns");
+			for (Phase phase : Phase.values()) {
+				line.append(',').append(phase.name().toLowerCase(Locale.ROOT)).append("_ns");
+			}
+			line.append(",evaluations,evaluations_per_s,allocated_bytes,best_fitness,mean_fitness,worst_fitness")
+					.append(",diversity,best_colors,best_conflicts\n");
+			headerWritten = true;
+		}
+
+		line.append(snapshot.getGeneration()).append(',').append(snapshot.getElapsedNanos()).append(',')
+				.append(snapshot.getGenerationNanos());
+		for (Phase phase : Phase.values()) {
+			line.append(',').append(snapshot.getPhaseNanos(phase));
+		}
+		line.append(',').append(snapshot.getEvaluations())
+				.append(',').append(String.format(Locale.ROOT, "%.1f", snapshot.getEvaluationsPerSecond()))
+				.append(',').append(snapshot.getAllocatedBytes())
+				.append(',').append(snapshot.getBestFitness())
+				.append(',').append(snapshot.getMeanFitness())
+				.append(',').append(snapshot.getWorstFitness())
+				.append(',').append(snapshot.getDiversity())
+				.append(',').append(snapshot.getBestColorCount())
+				.append(',').append(snapshot.getBestConflictCount()).append('\n');
+
+		try {
+			writer.write(line.toString());
+			writer.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
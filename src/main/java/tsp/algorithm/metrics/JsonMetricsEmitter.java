@@ -0,0 +1,57 @@
+package tsp.algorithm.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/***
+ * Writes every snapshot as one JSON object per line. Times are in
+ * nanoseconds, phase times are nested under "phases".
+ */
+public class JsonMetricsEmitter implements MetricsListener {
+
+	private Writer writer;
+
+	public JsonMetricsEmitter(Writer writer) {
+		this.writer = writer;
+	}
+
+	@Override
+	public void onGeneration(MetricsSnapshot snapshot) {
+		StringBuilder line = new StringBuilder("{");
+
+		line.append("\"generation\":").append(snapshot.getGeneration())
+				.append(",\"elapsedNanos\":").append(snapshot.getElapsedNanos())
+				.append(",\"generationNanos\":").append(snapshot.getGenerationNanos())
+				.append(",\"phases\":{");
+		Phase[] phases = Phase.values();
+		for (int i = 0; i < phases.length; i++) {
+			line.append(i == 0 ? "\"" : ",\"").append(phases[i].name().toLowerCase(Locale.ROOT)).append("\":")
+					.append(snapshot.getPhaseNanos(phases[i]));
+		}
+		line.append("},\"evaluations\":").append(snapshot.getEvaluations())
+				.append(",\"evaluationsPerSecond\":")
+				.append(String.format(Locale.ROOT, "%.1f", snapshot.getEvaluationsPerSecond()))
+				.append(",\"allocatedBytes\":").append(snapshot.getAllocatedBytes())
+				.append(",\"bestFitness\":").append(number(snapshot.getBestFitness()))
+				.append(",\"meanFitness\":").append(number(snapshot.getMeanFitness()))
+				.append(",\"worstFitness\":").append(number(snapshot.getWorstFitness()))
+				.append(",\"diversity\":").append(number(snapshot.getDiversity()))
+				.append(",\"bestColors\":").append(snapshot.getBestColorCount())
+				.append(",\"bestConflicts\":").append(snapshot.getBestConflictCount())
+				.append("}\n");
+
+		try {
+			writer.write(line.toString());
+			writer.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// JSON has no NaN nor infinity
+	private static String number(double value) {
+		return Double.isFinite(value) ? Double.toString(value) : "null";
+	}
+}
@@ -0,0 +1,11 @@
+package tsp.algorithm.metrics;
+
+/***
+ * Receives snapshot of every generation, called on the thread running the
+ * algorithm between generations.
+ */
+@FunctionalInterface
+public interface MetricsListener {
+
+	void onGeneration(MetricsSnapshot snapshot);
+}
@@ -0,0 +1,115 @@
+package tsp.algorithm.metrics;
+
+/***
+ * Immutable metrics of one generation. Phase times are summed over all
+ * threads, so with parallel breeding their sum may exceed the generation
+ * time.
+ */
+public class MetricsSnapshot {
+
+	private final int generation;
+	private final long generationNanos;
+	private final long elapsedNanos;
+	private final long[] phaseNanos;
+
+	private final int evaluations;
+	private final long allocatedBytes;
+
+	private final double bestFitness;
+	private final double meanFitness;
+	private final double worstFitness;
+	private final double diversity;
+
+	private final int bestColorCount;
+	private final int bestConflictCount;
+
+	MetricsSnapshot(int generation, long generationNanos, long elapsedNanos, long[] phaseNanos, int evaluations,
+			long allocatedBytes, double bestFitness, double meanFitness, double worstFitness, double diversity,
+			int bestColorCount, int bestConflictCount) {
+		this.generation = generation;
+		this.generationNanos = generationNanos;
+		this.elapsedNanos = elapsedNanos;
+		this.phaseNanos = phaseNanos;
+		this.evaluations = evaluations;
+		this.allocatedBytes = allocatedBytes;
+		this.bestFitness = bestFitness;
+		this.meanFitness = meanFitness;
+		this.worstFitness = worstFitness;
+		this.diversity = diversity;
+		this.bestColorCount = bestColorCount;
+		this.bestConflictCount = bestConflictCount;
+	}
+
+	public int getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Wall time of the generation.
+	 */
+	public long getGenerationNanos() {
+		return generationNanos;
+	}
+
+	/**
+	 * Wall time since the start of the run.
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	public long getPhaseNanos(Phase phase) {
+		return phaseNanos[phase.ordinal()];
+	}
+
+	public int getEvaluations() {
+		return evaluations;
+	}
+
+	public double getEvaluationsPerSecond() {
+		return generationNanos > 0 ? evaluations * 1e9 / generationNanos : 0;
+	}
+
+	/**
+	 * Bytes allocated during the generation by the threads running it, -1 if
+	 * the JVM does not measure allocation.
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	public double getBestFitness() {
+		return bestFitness;
+	}
+
+	public double getMeanFitness() {
+		return meanFitness;
+	}
+
+	public double getWorstFitness() {
+		return worstFitness;
+	}
+
+	/**
+	 * Mean fraction of (sampled) genes in which chromosomes differ from the
+	 * fittest one, 0 for a population of copies. NaN unless enabled by
+	 * {@link AlgorithmMetrics#diversitySampleSize(int)}.
+	 */
+	public double getDiversity() {
+		return diversity;
+	}
+
+	/**
+	 * Colors of the best chromosome found so far.
+	 */
+	public int getBestColorCount() {
+		return bestColorCount;
+	}
+
+	/**
+	 * Conflicts of the best chromosome found so far.
+	 */
+	public int getBestConflictCount() {
+		return bestConflictCount;
+	}
+}
@@ -0,0 +1,8 @@
+package tsp.algorithm.metrics;
+
+/***
+ * Timed parts of a generation.
+ */
+public enum Phase {
+	EVALUATION, SELECTION, CROSSOVER, MUTATION, INVERSION, LOCAL_SEARCH, REPAIR, REPLACEMENT
+}
@@ -1,16 +1,19 @@
 package tsp.algorithm.mutation;
 
-import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
-
 import tsp.algorithm.individual.Chromosome;
 import tsp.algorithm.individual.PhenotypeInterpreter;
+import tsp.algorithm.util.FitnessCalculator;
+import tsp.algorithm.util.IncrementalFitnessEvaluator;
 import tsp.instance.AbstractInstance;
-import tsp.instance.Edge;
 
 /**
- * Fixes genes with color that is illegal (same to some of adjacents)
+ * Fixes genes with color that is illegal (same to some of adjacents) by giving
+ * them the smallest color free in their neighbourhood (or the least used one if
+ * colors are limited and none is free). Only vertices from the
+ * conflict index of the evaluator are visited. One pass costs the degrees of
+ * those vertices if the chromosome already carries the index, O(|E|) if it
+ * has to be built, works on the compressed view of the instance and allocates
+ * nothing once the index exists.
  * 
  * @author BPOGODA
  */
@@ -18,43 +21,39 @@ public class FixIllegalGenesMutationOperator implements MutationOperator {
 
 	private PhenotypeInterpreter interpreter;
 
-	private AbstractInstance instance;
+	private ThreadLocal<IncrementalFitnessEvaluator> evaluators;
+
+	// snapshot of conflicting vertices taken before recoloring any of them
+	private ThreadLocal<int[]> conflictingVertices;
 
 	public FixIllegalGenesMutationOperator(PhenotypeInterpreter interpreter, AbstractInstance instance) {
 		super();
 		this.interpreter = interpreter;
-		this.instance = instance;
+
+		FitnessCalculator fitnessCalculator = new FitnessCalculator(interpreter, instance);
+		this.evaluators = ThreadLocal.withInitial(() -> new IncrementalFitnessEvaluator(fitnessCalculator, true));
+		this.conflictingVertices = ThreadLocal.withInitial(() -> new int[instance.getSize()]);
 	}
 
 	@Override
 	public void mutate(Chromosome chromosome) {
+		IncrementalFitnessEvaluator evaluator = evaluators.get();
+		evaluator.attach(chromosome);
 
-		for (int i = 0; i < chromosome.getLength(); i++) {
-			int geneColor = interpreter.getColor(chromosome, i);
+		int colorRange = interpreter.getColorRange(chromosome.getLength());
 
-			List<Edge> adjacentEdges = instance.getAdjacentEdges(i);
+		int[] snapshot = conflictingVertices.get();
+		int count = evaluator.getConflictingVertices().copyTo(snapshot);
 
-			boolean isIllegal = false;
-			for (Edge adjacent : adjacentEdges) {
-				if (interpreter.getColor(chromosome, adjacent.getTo()) == geneColor) {
-					isIllegal = true;
-					break;
-				}
-			}
-
-			if (isIllegal) {
-				Set<Integer> adjacentColors = adjacentEdges.stream()
-						.map(edge -> interpreter.getColor(chromosome, edge.getTo())).collect(Collectors.toSet());
-
-				for (int j = 0; j < chromosome.getLength(); j++) {
-					if (!adjacentColors.contains(j)) {
-						interpreter.setColor(chromosome, i, j);
-						break;
-					}
-				}
+		for (int i = 0; i < count; i++) {
+			int vertex = snapshot[i];
+			if (evaluator.hasConflictAt(vertex)) {
+				evaluator.recolor(vertex, evaluator.findLeastConflictingColor(vertex, colorRange));
 			}
 		}
 
+		evaluator.detach();
+
 	}
 
 }
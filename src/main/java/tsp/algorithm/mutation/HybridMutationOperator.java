@@ -1,18 +1,18 @@
 package tsp.algorithm.mutation;
 
-import java.util.Random;
-
 import tsp.algorithm.individual.Chromosome;
 import tsp.algorithm.individual.PhenotypeInterpreter;
+import tsp.algorithm.util.RandomGenerator;
+import tsp.algorithm.util.RandomGeneratorAware;
 import tsp.instance.AbstractInstance;
 
-public class HybridMutationOperator implements MutationOperator {
+public class HybridMutationOperator implements MutationOperator, RandomGeneratorAware {
 
 	private double RANDOMIZE_GENE_FREQ = 0.90;
 	private double RANDOMIZE_ILLEGAL_GENE_FREQ = 0.07;
 //	private double FIX_ILLEGAL_GENE_FREQ = 0.05;
 	
-	private Random randomGenerator = new Random();
+	private RandomGenerator randomGenerator = new RandomGenerator();
 
 	private RandomizeGeneMutationOperator randomizeGeneOperator;	
 	private FixIllegalGenesMutationOperator fixIllegalGenesOperator;
@@ -21,11 +21,18 @@ public class HybridMutationOperator implements MutationOperator {
 	public HybridMutationOperator(PhenotypeInterpreter interpreter, AbstractInstance instance) {
 		super();
 		
-		this.randomizeGeneOperator = new RandomizeGeneMutationOperator();
+		this.randomizeGeneOperator = new RandomizeGeneMutationOperator(interpreter, instance);
 		this.fixIllegalGenesOperator = new FixIllegalGenesMutationOperator(interpreter, instance);
 		this.randomizeIllegalGenesOperator = new RandomizeIllegalGenesMutationOperator(interpreter, instance);
 	}
 
+	@Override
+	public void setRandomGenerator(RandomGenerator randomGenerator) {
+		this.randomGenerator = randomGenerator;
+		randomizeGeneOperator.setRandomGenerator(randomGenerator);
+		randomizeIllegalGenesOperator.setRandomGenerator(randomGenerator);
+	}
+
 	@Override
 	public void mutate(Chromosome chromosome) {
 		double random = randomGenerator.nextDouble();
@@ -1,12 +1,21 @@
 package tsp.algorithm.mutation;
 
 import tsp.algorithm.individual.Chromosome;
+import tsp.algorithm.individual.PhenotypeInterpreter;
+import tsp.algorithm.util.FitnessCalculator;
+import tsp.algorithm.util.IncrementalFitnessEvaluator;
 import tsp.algorithm.util.RandomGenerator;
+import tsp.algorithm.util.RandomGeneratorAware;
+import tsp.instance.AbstractInstance;
 
-public class RandomizeGeneMutationOperator implements MutationOperator {
+public class RandomizeGeneMutationOperator implements MutationOperator, RandomGeneratorAware {
 
 	RandomGenerator randomGenerator;
 
+	private PhenotypeInterpreter interpreter;
+
+	private ThreadLocal<IncrementalFitnessEvaluator> evaluators;
+
 	public RandomizeGeneMutationOperator() {
 		randomGenerator = new RandomGenerator();
 	}
@@ -15,12 +24,40 @@ public class RandomizeGeneMutationOperator implements MutationOperator {
 		this.randomGenerator = randomGenerator;
 	}
 
+	/**
+	 * Evaluated chromosomes keep a valid cached evaluation, updated in O(deg(v))
+	 * by an incremental evaluator (plus O(n) the first time their color usage
+	 * is counted, it is then carried by copies). Unevaluated chromosomes, e.g.
+	 * fresh crossover offspring, are changed directly since they are going to
+	 * be fully evaluated anyway.
+	 */
+	public RandomizeGeneMutationOperator(PhenotypeInterpreter interpreter, AbstractInstance instance) {
+		this();
+		this.interpreter = interpreter;
+
+		FitnessCalculator fitnessCalculator = new FitnessCalculator(interpreter, instance);
+		this.evaluators = ThreadLocal.withInitial(() -> new IncrementalFitnessEvaluator(fitnessCalculator));
+	}
+
+	@Override
+	public void setRandomGenerator(RandomGenerator randomGenerator) {
+		this.randomGenerator = randomGenerator;
+	}
+
 	@Override
 	public void mutate(Chromosome chromosome) {
 		int randomGenePosition = randomGenerator.generateIntInRangeExclusive(0, chromosome.getLength());
-		int randomGeneValue = randomGenerator.generateIntInRangeExclusive(0, chromosome.getLength());
+		int colorRange = interpreter != null ? interpreter.getColorRange(chromosome.getLength()) : chromosome.getLength();
+		int randomGeneValue = randomGenerator.generateIntInRangeExclusive(0, colorRange);
 		
-		chromosome.setGeneAt(randomGenePosition, randomGeneValue);
+		if (evaluators != null && chromosome.isEvaluated()) {
+			IncrementalFitnessEvaluator evaluator = evaluators.get();
+			evaluator.attach(chromosome);
+			evaluator.recolor(randomGenePosition, randomGeneValue);
+			evaluator.detach();
+		} else {
+			chromosome.setGeneAt(randomGenePosition, randomGeneValue);
+		}
 	}
 
 	@Override
@@ -1,32 +1,38 @@
 package tsp.algorithm.mutation;
 
-import java.util.List;
-
 import tsp.algorithm.individual.Chromosome;
 import tsp.algorithm.individual.PhenotypeInterpreter;
+import tsp.algorithm.util.FitnessCalculator;
+import tsp.algorithm.util.IncrementalFitnessEvaluator;
 import tsp.algorithm.util.RandomGenerator;
+import tsp.algorithm.util.RandomGeneratorAware;
 import tsp.instance.AbstractInstance;
-import tsp.instance.Edge;
 
 /**
  * Randomizes genes with color that is illegal (same to some of adjacents)
  * 
  * @author BPOGODA
  */
-public class RandomizeIllegalGenesMutationOperator implements MutationOperator {
+public class RandomizeIllegalGenesMutationOperator implements MutationOperator, RandomGeneratorAware {
 
 	private PhenotypeInterpreter interpreter;
-	
-	private AbstractInstance instance;
-	
+
 	private RandomGenerator randomGenerator;
+
+	private ThreadLocal<IncrementalFitnessEvaluator> evaluators;
+
+	// snapshot of conflicting vertices taken before recoloring any of them
+	private ThreadLocal<int[]> conflictingVertices;
 	
 	public RandomizeIllegalGenesMutationOperator(PhenotypeInterpreter interpreter, AbstractInstance instance) {
 		super();
 		this.interpreter = interpreter;
-		this.instance = instance;
 		
 		this.randomGenerator = new RandomGenerator();
+
+		FitnessCalculator fitnessCalculator = new FitnessCalculator(interpreter, instance);
+		this.evaluators = ThreadLocal.withInitial(() -> new IncrementalFitnessEvaluator(fitnessCalculator, true));
+		this.conflictingVertices = ThreadLocal.withInitial(() -> new int[instance.getSize()]);
 	}
 
 	public RandomizeIllegalGenesMutationOperator(PhenotypeInterpreter interpreter, AbstractInstance instance,
@@ -35,24 +41,31 @@ public class RandomizeIllegalGenesMutationOperator implements MutationOperator {
 		this.randomGenerator = randomGenerator;
 	}
 
+	@Override
+	public void setRandomGenerator(RandomGenerator randomGenerator) {
+		this.randomGenerator = randomGenerator;
+	}
+
 	@Override
 	public void mutate(Chromosome chromosome) {
+		IncrementalFitnessEvaluator evaluator = evaluators.get();
+		evaluator.attach(chromosome);
 
-		for(int i = 0 ; i < chromosome.getLength() ; i++) {
-			int geneColor = interpreter.getColor(chromosome, i);
-			
-			List<Edge> adjacentVerts = instance.getAdjacentEdges(i);
-			for(Edge adjacent : adjacentVerts) {
-				if(interpreter.getColor(chromosome, adjacent.getTo()) == geneColor) {
-					// same color (invalid situation)
-
-					int randomGeneValue = randomGenerator.generateIntInRangeExclusive(0, chromosome.getLength());					
-					interpreter.setColor(chromosome, i, randomGeneValue);
-					
-					break;
-				}
+		int colorRange = interpreter.getColorRange(chromosome.getLength());
+
+		int[] snapshot = conflictingVertices.get();
+		int count = evaluator.getConflictingVertices().copyTo(snapshot);
+
+		for(int i = 0 ; i < count ; i++) {
+			int vertex = snapshot[i];
+			if(evaluator.hasConflictAt(vertex)) {
+				// same color as some neighbour (invalid situation)
+				int randomGeneValue = randomGenerator.generateIntInRangeExclusive(0, colorRange);
+				evaluator.recolor(vertex, randomGeneValue);
 			}
 		}
+
+		evaluator.detach();
 		
 	}
 
@@ -8,12 +8,38 @@ public class Population {
 
 	private Chromosome[] population;
 
+	// genes of all chromosomes, one after another - null if chromosomes are stored by reference
+	private int[] genes;
+
 	public Population(int populationSize) {
 		this.population = new Chromosome[populationSize];
 	}
+
+	/**
+	 * Creates population storing genes of all chromosomes in one contiguous
+	 * array. Chromosomes are views of its slices, saving a chromosome copies its
+	 * genes into the slot instead of storing the reference.
+	 */
+	public Population(int populationSize, int chromosomeLength) {
+		if ((long) populationSize * chromosomeLength > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException(
+					"Population of " + populationSize + " chromosomes of length " + chromosomeLength + " is too large");
+		}
+
+		this.population = new Chromosome[populationSize];
+		this.genes = new int[populationSize * chromosomeLength];
+
+		for (int i = 0; i < populationSize; i++) {
+			population[i] = new Chromosome(genes, i * chromosomeLength, chromosomeLength);
+		}
+	}
 	
     public void saveChromosome(int index, Chromosome chromsome) {
-    	population[index] = chromsome;
+    	if (genes != null) {
+    		population[index].copyFrom(chromsome);
+    	} else {
+    		population[index] = chromsome;
+    	}
     }
     
     public Chromosome getChromosome(int index) {
@@ -23,14 +49,16 @@ public class Population {
     public int getSize() {
     	return population.length;
     }
-    
+
+    public boolean isFlat() {
+    	return genes != null;
+    }
+
 	public static Population generateInitialPopulation(PhenotypeInterpreter phenotypeInterpreter, int populationSize, AbstractInstance instance) {
-		Population population = new Population(populationSize);
+		Population population = new Population(populationSize, instance.getSize());
 
-		population.population[0] = phenotypeInterpreter.generateRandomChromosome(instance.getSize());
-		
-		for (int i = 1; i < population.population.length; i++) {
-			population.population[i] = phenotypeInterpreter.generateRandomChromosome(instance.getSize());
+		for (int i = 0; i < population.population.length; i++) {
+			phenotypeInterpreter.randomizeChromosome(population.population[i]);
 		}
 
 		return population;
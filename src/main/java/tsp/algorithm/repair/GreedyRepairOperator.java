@@ -0,0 +1,176 @@
+package tsp.algorithm.repair;
+
+import java.util.Arrays;
+
+import tsp.algorithm.individual.Chromosome;
+import tsp.algorithm.individual.PhenotypeInterpreter;
+import tsp.algorithm.util.ColorMarks;
+import tsp.instance.AbstractInstance;
+import tsp.instance.CompressedSparseRowInstance;
+
+/**
+ * Makes the coloring legal in a single pass over the vertices. A vertex
+ * conflicting with some neighbour gets the smallest color already used in the
+ * chromosome that none of its neighbours has, and only if there is none the
+ * smallest unused color. Every vertex is conflict free when visited and later
+ * recolorings avoid it, so the result is legal.
+ * 
+ * Used colors are kept in an ascending list without emptied ones, so finding
+ * the color visits at most deg(v) + 1 of them. Keeping the list sorted costs an
+ * array shift of at most k entries, only when a color is emptied or first
+ * used, so the whole repair is O(|E| + n) plus those rare shifts, with
+ * primitive arrays only. If the
+ * interpreter limits colors, no color beyond the limit is introduced and such
+ * conflicts are left in place. Safe to share between threads.
+ */
+public class GreedyRepairOperator implements RepairOperator {
+
+	private PhenotypeInterpreter interpreter;
+	private CompressedSparseRowInstance graph;
+
+	private ThreadLocal<Workspace> workspaces;
+
+	public GreedyRepairOperator(PhenotypeInterpreter interpreter, AbstractInstance instance) {
+		this.interpreter = interpreter;
+		this.graph = instance.getCompressedView();
+		this.workspaces = ThreadLocal.withInitial(() -> new Workspace(graph.getSize()));
+	}
+
+	@Override
+	public void repair(Chromosome chromosome) {
+		Workspace workspace = workspaces.get();
+		workspace.load(chromosome);
+		int colorRange = interpreter.getColorRange(chromosome.getLength());
+
+		ColorMarks neighborColors = workspace.neighborColors;
+		for (int v = 0; v < chromosome.getLength(); v++) {
+			int color = interpreter.getColor(chromosome, v);
+
+			neighborColors.clear();
+			int degree = graph.getDegree(v);
+			for (int k = 0; k < degree; k++) {
+				neighborColors.mark(interpreter.getColor(chromosome, graph.getNeighborAt(v, k)));
+			}
+
+			if (!neighborColors.isMarked(color)) {
+				continue;
+			}
+
+			int newColor = workspace.smallestLegalUsedColor(neighborColors);
+			if (newColor < 0) {
+				newColor = workspace.smallestUnusedColor();
+				if (newColor >= colorRange) {
+					continue;
+				}
+			}
+
+			workspace.recolor(color, newColor);
+			interpreter.setColor(chromosome, v, newColor);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "Greedy Repair Operator";
+	}
+
+	private class Workspace {
+
+		private ColorMarks neighborColors;
+
+		// vertices per color
+		private int[] usage;
+
+		// colors with usage above 0, ascending
+		private int[] usedColors;
+		private int usedColorCount;
+
+		Workspace(int size) {
+			neighborColors = new ColorMarks(size);
+			usage = new int[size];
+			usedColors = new int[size];
+		}
+
+		void load(Chromosome chromosome) {
+			int maxColor = 0;
+			for (int v = 0; v < chromosome.getLength(); v++) {
+				maxColor = Math.max(maxColor, interpreter.getColor(chromosome, v));
+			}
+			if (maxColor >= usage.length) {
+				usage = new int[maxColor + 1];
+				usedColors = new int[maxColor + 1];
+			}
+
+			Arrays.fill(usage, 0);
+			for (int v = 0; v < chromosome.getLength(); v++) {
+				usage[interpreter.getColor(chromosome, v)]++;
+			}
+
+			usedColorCount = 0;
+			for (int color = 0; color <= maxColor; color++) {
+				if (usage[color] > 0) {
+					usedColors[usedColorCount++] = color;
+				}
+			}
+		}
+
+		/**
+		 * Returns the smallest used color not marked, -1 if all are marked.
+		 * Visits at most deg + 1 used colors.
+		 */
+		int smallestLegalUsedColor(ColorMarks marked) {
+			for (int i = 0; i < usedColorCount; i++) {
+				int color = usedColors[i];
+				if (!marked.isMarked(color)) {
+					return color;
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * Returns the smallest color with no vertex. Called only when all used
+		 * colors are around one vertex, so there are at most deg of them.
+		 */
+		int smallestUnusedColor() {
+			int color = 0;
+			while (color < usage.length && usage[color] > 0) {
+				color++;
+			}
+			return color;
+		}
+
+		void recolor(int oldColor, int newColor) {
+			if (--usage[oldColor] == 0) {
+				removeUsedColor(oldColor);
+			}
+
+			ensureCapacity(newColor);
+			if (usage[newColor]++ == 0) {
+				insertUsedColor(newColor);
+			}
+		}
+
+		private void insertUsedColor(int color) {
+			int position = -Arrays.binarySearch(usedColors, 0, usedColorCount, color) - 1;
+			System.arraycopy(usedColors, position, usedColors, position + 1, usedColorCount - position);
+			usedColors[position] = color;
+			usedColorCount++;
+		}
+
+		private void removeUsedColor(int color) {
+			int position = Arrays.binarySearch(usedColors, 0, usedColorCount, color);
+			System.arraycopy(usedColors, position + 1, usedColors, position, usedColorCount - position - 1);
+			usedColorCount--;
+		}
+
+		private void ensureCapacity(int color) {
+			if (color >= usage.length) {
+				usage = Arrays.copyOf(usage, Math.max(color + 1, 2 * usage.length));
+			}
+			if (usedColorCount + 1 > usedColors.length) {
+				usedColors = Arrays.copyOf(usedColors, 2 * usedColors.length);
+			}
+		}
+	}
+}
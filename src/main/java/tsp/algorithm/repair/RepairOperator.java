@@ -0,0 +1,10 @@
+package tsp.algorithm.repair;
+
+import tsp.algorithm.individual.Chromosome;
+
+/**
+ * Turns a chromosome into a legal coloring (or closer to one), in place.
+ */
+public interface RepairOperator {
+	void repair(Chromosome chromosome);
+}
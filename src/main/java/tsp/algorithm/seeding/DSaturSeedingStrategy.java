@@ -0,0 +1,200 @@
+package tsp.algorithm.seeding;
+
+import java.util.Arrays;
+
+import tsp.algorithm.individual.Chromosome;
+import tsp.algorithm.individual.PhenotypeInterpreter;
+import tsp.algorithm.util.RandomGenerator;
+import tsp.instance.AbstractInstance;
+
+/**
+ * DSatur (Brelaz) coloring: always colors the uncolored vertex with most
+ * distinct colors among its neighbours. Uncolored vertices are kept in a
+ * bucket queue indexed by saturation - doubly linked lists in int arrays - so
+ * taking the most saturated vertex and raising a saturation are O(1). Colors
+ * around every vertex are tracked in bit rows of max degree + 1 bits, the
+ * whole coloring is O((|E| + n) * (max degree / 64 + 1)).
+ * 
+ * Vertices enter the buckets in order of increasing degree with random ties
+ * and are taken from the front, so among equally saturated vertices recently
+ * saturated or higher degree ones go first.
+ */
+public class DSaturSeedingStrategy extends GreedySeedingStrategy {
+
+	private int maxDegree;
+	private int words;
+
+	private ThreadLocal<Queue> queues;
+
+	public DSaturSeedingStrategy(PhenotypeInterpreter interpreter, AbstractInstance instance) {
+		this(interpreter, instance, new RandomGenerator());
+	}
+
+	public DSaturSeedingStrategy(PhenotypeInterpreter interpreter, AbstractInstance instance,
+			RandomGenerator randomGenerator) {
+		super(interpreter, instance, randomGenerator);
+
+		for (int v = 0; v < graph.getSize(); v++) {
+			maxDegree = Math.max(maxDegree, graph.getDegree(v));
+		}
+		words = (maxDegree + 1 + 63) >>> 6;
+
+		queues = ThreadLocal.withInitial(() -> new Queue(graph.getSize()));
+	}
+
+	@Override
+	protected void fillOrder(int[] order) {
+		// increasing degree, so the largest degree ends at the front of bucket 0
+		int[] starts = new int[maxDegree + 2];
+		for (int v = 0; v < graph.getSize(); v++) {
+			starts[graph.getDegree(v) + 1]++;
+		}
+		for (int d = 1; d < starts.length; d++) {
+			starts[d] += starts[d - 1];
+		}
+
+		int[] shuffled = getWorkspace().colors;
+		for (int v = 0; v < shuffled.length; v++) {
+			shuffled[v] = v;
+		}
+		shuffle(shuffled);
+
+		for (int vertex : shuffled) {
+			order[starts[graph.getDegree(vertex)]++] = vertex;
+		}
+	}
+
+	@Override
+	public void seed(Chromosome chromosome) {
+		Workspace workspace = getWorkspace();
+		Queue queue = queues.get();
+		int[] colors = workspace.colors;
+		int size = graph.getSize();
+		int colorRange = interpreter.getColorRange(size);
+
+		fillOrder(workspace.order);
+		Arrays.fill(colors, -1);
+		queue.reset();
+		for (int vertex : workspace.order) {
+			queue.push(vertex, 0);
+		}
+
+		for (int step = 0; step < size; step++) {
+			int vertex = queue.popMostSaturated();
+
+			int color = firstFreeColor(queue.neighborColors, vertex);
+			if (color >= colorRange) {
+				color = leastConflictingColor(vertex, colors, colorRange, workspace);
+			}
+			colors[vertex] = color;
+
+			int degree = graph.getDegree(vertex);
+			for (int k = 0; k < degree; k++) {
+				int neighbor = graph.getNeighborAt(vertex, k);
+				if (colors[neighbor] < 0 && addNeighborColor(queue.neighborColors, neighbor, color)) {
+					queue.raise(neighbor);
+				}
+			}
+		}
+
+		writeColors(chromosome, colors);
+	}
+
+	private int firstFreeColor(long[] neighborColors, int vertex) {
+		int row = vertex * words;
+		for (int w = 0; w < words; w++) {
+			long free = ~neighborColors[row + w];
+			if (free != 0) {
+				return (w << 6) + Long.numberOfTrailingZeros(free);
+			}
+		}
+		// all max degree + 1 colors around the vertex, cannot happen
+		return words << 6;
+	}
+
+	/**
+	 * Adds the color to the colors around the vertex, returns false if it was
+	 * already there.
+	 */
+	private boolean addNeighborColor(long[] neighborColors, int vertex, int color) {
+		if (color > maxDegree) {
+			// colors above max degree + 1 only come from a color limit, not tracked
+			return false;
+		}
+
+		int index = vertex * words + (color >>> 6);
+		long bit = 1L << color;
+		if ((neighborColors[index] & bit) != 0) {
+			return false;
+		}
+		neighborColors[index] |= bit;
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "DSatur Seeding";
+	}
+
+	private class Queue {
+		private int[] saturation;
+		private int[] next;
+		private int[] previous;
+		private int[] heads;
+		private int maxSaturation;
+
+		private long[] neighborColors;
+
+		Queue(int size) {
+			saturation = new int[size];
+			next = new int[size];
+			previous = new int[size];
+			heads = new int[maxDegree + 1];
+			neighborColors = new long[size * words];
+		}
+
+		void reset() {
+			Arrays.fill(heads, -1);
+			Arrays.fill(saturation, 0);
+			Arrays.fill(neighborColors, 0);
+			maxSaturation = 0;
+		}
+
+		void push(int vertex, int level) {
+			saturation[vertex] = level;
+			previous[vertex] = -1;
+			next[vertex] = heads[level];
+			if (heads[level] >= 0) {
+				previous[heads[level]] = vertex;
+			}
+			heads[level] = vertex;
+			maxSaturation = Math.max(maxSaturation, level);
+		}
+
+		void remove(int vertex) {
+			int level = saturation[vertex];
+			if (previous[vertex] >= 0) {
+				next[previous[vertex]] = next[vertex];
+			} else {
+				heads[level] = next[vertex];
+			}
+			if (next[vertex] >= 0) {
+				previous[next[vertex]] = previous[vertex];
+			}
+		}
+
+		void raise(int vertex) {
+			remove(vertex);
+			push(vertex, saturation[vertex] + 1);
+		}
+
+		int popMostSaturated() {
+			while (heads[maxSaturation] < 0) {
+				maxSaturation--;
+			}
+			int vertex = heads[maxSaturation];
+			remove(vertex);
+			return vertex;
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package tsp.algorithm.seeding;
+
+import java.util.Arrays;
+
+import tsp.algorithm.individual.Chromosome;
+import tsp.algorithm.individual.PhenotypeInterpreter;
+import tsp.algorithm.util.ColorMarks;
+import tsp.algorithm.util.RandomGenerator;
+import tsp.algorithm.util.RandomGeneratorAware;
+import tsp.instance.AbstractInstance;
+import tsp.instance.CompressedSparseRowInstance;
+
+/**
+ * Greedy coloring in a vertex order given by the subclass: every vertex gets
+ * the smallest color not used by its already colored neighbours. If the
+ * interpreter limits colors and all allowed colors are used around the
+ * vertex, it gets the least conflicting one. O(|E| + n) besides ordering,
+ * buffers are reused per thread.
+ */
+public abstract class GreedySeedingStrategy implements SeedingStrategy, RandomGeneratorAware {
+
+	protected PhenotypeInterpreter interpreter;
+	protected CompressedSparseRowInstance graph;
+	protected RandomGenerator randomGenerator;
+
+	private ThreadLocal<Workspace> workspaces;
+
+	protected GreedySeedingStrategy(PhenotypeInterpreter interpreter, AbstractInstance instance,
+			RandomGenerator randomGenerator) {
+		this.interpreter = interpreter;
+		this.graph = instance.getCompressedView();
+		this.randomGenerator = randomGenerator;
+		this.workspaces = ThreadLocal.withInitial(() -> new Workspace(graph.getSize()));
+	}
+
+	@Override
+	public void setRandomGenerator(RandomGenerator randomGenerator) {
+		this.randomGenerator = randomGenerator;
+	}
+
+	/**
+	 * Fills the array with all vertices in the order they are to be colored.
+	 */
+	protected abstract void fillOrder(int[] order);
+
+	@Override
+	public void seed(Chromosome chromosome) {
+		Workspace workspace = workspaces.get();
+		int[] colors = workspace.colors;
+		int colorRange = interpreter.getColorRange(graph.getSize());
+
+		fillOrder(workspace.order);
+		Arrays.fill(colors, -1);
+
+		for (int vertex : workspace.order) {
+			ColorMarks neighborColors = workspace.neighborColors;
+			neighborColors.clear();
+
+			int degree = graph.getDegree(vertex);
+			for (int k = 0; k < degree; k++) {
+				int neighborColor = colors[graph.getNeighborAt(vertex, k)];
+				if (neighborColor >= 0) {
+					neighborColors.mark(neighborColor);
+				}
+			}
+
+			int color = neighborColors.firstUnmarked();
+			if (color >= colorRange) {
+				color = leastConflictingColor(vertex, colors, colorRange, workspace);
+			}
+			colors[vertex] = color;
+		}
+
+		writeColors(chromosome, colors);
+	}
+
+	/**
+	 * Returns the color from [0, colorRange) used by fewest colored neighbours
+	 * (uncolored ones have color -1).
+	 */
+	protected int leastConflictingColor(int vertex, int[] colors, int colorRange, Workspace workspace) {
+		if (workspace.colorCounts.length < colorRange) {
+			workspace.colorCounts = new int[colorRange];
+		}
+		int[] counts = workspace.colorCounts;
+		Arrays.fill(counts, 0, colorRange, 0);
+
+		int degree = graph.getDegree(vertex);
+		for (int k = 0; k < degree; k++) {
+			int neighborColor = colors[graph.getNeighborAt(vertex, k)];
+			if (neighborColor >= 0 && neighborColor < colorRange) {
+				counts[neighborColor]++;
+			}
+		}
+
+		int leastConflicting = 0;
+		for (int color = 1; color < colorRange; color++) {
+			if (counts[color] < counts[leastConflicting]) {
+				leastConflicting = color;
+			}
+		}
+		return leastConflicting;
+	}
+
+	protected void writeColors(Chromosome chromosome, int[] colors) {
+		for (int v = 0; v < colors.length; v++) {
+			interpreter.setColor(chromosome, v, colors[v]);
+		}
+	}
+
+	/**
+	 * Shuffles the array in place (Fisher-Yates).
+	 */
+	protected void shuffle(int[] array) {
+		for (int i = array.length - 1; i > 0; i--) {
+			int j = randomGenerator.generateIntInRangeExclusive(0, i + 1);
+			int swapped = array[i];
+			array[i] = array[j];
+			array[j] = swapped;
+		}
+	}
+
+	protected Workspace getWorkspace() {
+		return workspaces.get();
+	}
+
+	protected static class Workspace {
+		protected int[] order;
+		protected int[] colors;
+		protected ColorMarks neighborColors;
+		protected int[] colorCounts = new int[0];
+
+		Workspace(int size) {
+			order = new int[size];
+			colors = new int[size];
+			neighborColors = new ColorMarks(size);
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package tsp.algorithm.seeding;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import tsp.algorithm.util.RandomGenerator;
+import tsp.algorithm.util.RandomGeneratorAware;
+
+/**
+ * Assigns seeding strategies to slots of the initial population. Each strategy
+ * gets its fraction of the population, strategies fill consecutive slots in the
+ * order they were added; remaining slots are left to random chromosomes.
+ */
+public class PopulationSeeder implements RandomGeneratorAware {
+
+	private List<SeedingStrategy> strategies = new ArrayList<>();
+	private List<Double> fractions = new ArrayList<>();
+
+	public PopulationSeeder add(SeedingStrategy strategy, double fraction) {
+		strategies.add(strategy);
+		fractions.add(fraction);
+		return this;
+	}
+
+	@Override
+	public void setRandomGenerator(RandomGenerator randomGenerator) {
+		for (SeedingStrategy strategy : strategies) {
+			if (strategy instanceof RandomGeneratorAware) {
+				((RandomGeneratorAware) strategy).setRandomGenerator(randomGenerator);
+			}
+		}
+	}
+
+	/**
+	 * Returns strategy for the chromosome at the index, null if it should be
+	 * random.
+	 */
+	public SeedingStrategy getStrategy(int index, int populationSize) {
+		double end = 0;
+		for (int i = 0; i < strategies.size(); i++) {
+			end += fractions.get(i);
+			if (index < Math.round(end * populationSize)) {
+				return strategies.get(i);
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder stringBuilder = new StringBuilder();
+		for (int i = 0; i < strategies.size(); i++) {
+			stringBuilder.append(strategies.get(i)).append(" ").append(fractions.get(i)).append("\n");
+		}
+		return stringBuilder.toString();
+	}
+}
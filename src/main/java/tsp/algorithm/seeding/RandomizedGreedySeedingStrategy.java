@@ -0,0 +1,34 @@
+package tsp.algorithm.seeding;
+
+import tsp.algorithm.individual.PhenotypeInterpreter;
+import tsp.algorithm.util.RandomGenerator;
+import tsp.instance.AbstractInstance;
+
+/**
+ * Greedy coloring in a random vertex order, so every seeded chromosome is
+ * different.
+ */
+public class RandomizedGreedySeedingStrategy extends GreedySeedingStrategy {
+
+	public RandomizedGreedySeedingStrategy(PhenotypeInterpreter interpreter, AbstractInstance instance) {
+		this(interpreter, instance, new RandomGenerator());
+	}
+
+	public RandomizedGreedySeedingStrategy(PhenotypeInterpreter interpreter, AbstractInstance instance,
+			RandomGenerator randomGenerator) {
+		super(interpreter, instance, randomGenerator);
+	}
+
+	@Override
+	protected void fillOrder(int[] order) {
+		for (int v = 0; v < order.length; v++) {
+			order[v] = v;
+		}
+		shuffle(order);
+	}
+
+	@Override
+	public String toString() {
+		return "Randomized Greedy Seeding";
+	}
+}
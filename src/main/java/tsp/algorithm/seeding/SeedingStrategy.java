@@ -0,0 +1,16 @@
+package tsp.algorithm.seeding;
+
+import tsp.algorithm.individual.Chromosome;
+
+/**
+ * Creates a chromosome of the initial population, typically a heuristic
+ * coloring close to a legal one. Implementations must be safe to call from
+ * several threads at once.
+ */
+public interface SeedingStrategy {
+
+	/**
+	 * Overwrites all genes of the chromosome.
+	 */
+	void seed(Chromosome chromosome);
+}
@@ -0,0 +1,55 @@
+package tsp.algorithm.seeding;
+
+import tsp.algorithm.individual.PhenotypeInterpreter;
+import tsp.algorithm.util.RandomGenerator;
+import tsp.instance.AbstractInstance;
+
+/**
+ * Welsh-Powell (largest first) coloring: greedy coloring in order of
+ * decreasing degree. Vertices are ordered by a counting sort over degrees,
+ * vertices of equal degree in random order.
+ */
+public class WelshPowellSeedingStrategy extends GreedySeedingStrategy {
+
+	private int maxDegree;
+
+	public WelshPowellSeedingStrategy(PhenotypeInterpreter interpreter, AbstractInstance instance) {
+		this(interpreter, instance, new RandomGenerator());
+	}
+
+	public WelshPowellSeedingStrategy(PhenotypeInterpreter interpreter, AbstractInstance instance,
+			RandomGenerator randomGenerator) {
+		super(interpreter, instance, randomGenerator);
+
+		for (int v = 0; v < graph.getSize(); v++) {
+			maxDegree = Math.max(maxDegree, graph.getDegree(v));
+		}
+	}
+
+	@Override
+	protected void fillOrder(int[] order) {
+		int[] shuffled = getWorkspace().colors;
+		for (int v = 0; v < shuffled.length; v++) {
+			shuffled[v] = v;
+		}
+		shuffle(shuffled);
+
+		// start of every degree in the order, highest degree first
+		int[] starts = new int[maxDegree + 2];
+		for (int v = 0; v < graph.getSize(); v++) {
+			starts[maxDegree - graph.getDegree(v) + 1]++;
+		}
+		for (int d = 1; d < starts.length; d++) {
+			starts[d] += starts[d - 1];
+		}
+
+		for (int vertex : shuffled) {
+			order[starts[maxDegree - graph.getDegree(vertex)]++] = vertex;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "Welsh-Powell Seeding";
+	}
+}
@@ -0,0 +1,33 @@
+package tsp.algorithm.termination;
+
+import tsp.algorithm.EvolutionStatus;
+
+/***
+ * AND or OR of two policies, see {@link TerminationPolicy#and(TerminationPolicy)}
+ * and {@link TerminationPolicy#or(TerminationPolicy)}.
+ */
+class CompositeTerminationPolicy implements TerminationPolicy {
+
+	private TerminationPolicy first;
+	private TerminationPolicy second;
+	private boolean both;
+
+	CompositeTerminationPolicy(TerminationPolicy first, TerminationPolicy second, boolean both) {
+		this.first = first;
+		this.second = second;
+		this.both = both;
+	}
+
+	@Override
+	public boolean shouldTerminate(EvolutionStatus status) {
+		if (both) {
+			return first.shouldTerminate(status) && second.shouldTerminate(status);
+		}
+		return first.shouldTerminate(status) || second.shouldTerminate(status);
+	}
+
+	@Override
+	public String toString() {
+		return "(" + first + (both ? " and " : " or ") + second + ")";
+	}
+}
@@ -0,0 +1,28 @@
+package tsp.algorithm.termination;
+
+import java.util.concurrent.TimeUnit;
+
+import tsp.algorithm.EvolutionStatus;
+
+/***
+ * Stops when the given time has elapsed since the start of the run. Checked
+ * between generations, so a run may exceed the limit by one generation.
+ */
+public class DeadlinePolicy implements TerminationPolicy {
+
+	private long timeLimitNanos;
+
+	public DeadlinePolicy(long timeLimit, TimeUnit unit) {
+		this.timeLimitNanos = unit.toNanos(timeLimit);
+	}
+
+	@Override
+	public boolean shouldTerminate(EvolutionStatus status) {
+		return status.getElapsedNanos() >= timeLimitNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "Deadline " + TimeUnit.NANOSECONDS.toMillis(timeLimitNanos) + " ms";
+	}
+}
@@ -0,0 +1,25 @@
+package tsp.algorithm.termination;
+
+import tsp.algorithm.EvolutionStatus;
+
+/***
+ * Stops after the given number of individuals has been evaluated.
+ */
+public class MaxEvaluationsPolicy implements TerminationPolicy {
+
+	private long maxEvaluations;
+
+	public MaxEvaluationsPolicy(long maxEvaluations) {
+		this.maxEvaluations = maxEvaluations;
+	}
+
+	@Override
+	public boolean shouldTerminate(EvolutionStatus status) {
+		return status.getEvaluations() >= maxEvaluations;
+	}
+
+	@Override
+	public String toString() {
+		return "Max evaluations " + maxEvaluations;
+	}
+}
@@ -0,0 +1,25 @@
+package tsp.algorithm.termination;
+
+import tsp.algorithm.EvolutionStatus;
+
+/***
+ * Stops after the given number of generations.
+ */
+public class MaxGenerationsPolicy implements TerminationPolicy {
+
+	private int maxGenerations;
+
+	public MaxGenerationsPolicy(int maxGenerations) {
+		this.maxGenerations = maxGenerations;
+	}
+
+	@Override
+	public boolean shouldTerminate(EvolutionStatus status) {
+		return status.getGenerations() >= maxGenerations;
+	}
+
+	@Override
+	public String toString() {
+		return "Max generations " + maxGenerations;
+	}
+}
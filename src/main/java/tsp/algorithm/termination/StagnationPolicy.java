@@ -0,0 +1,26 @@
+package tsp.algorithm.termination;
+
+import tsp.algorithm.EvolutionStatus;
+
+/***
+ * Stops when the best chromosome has not improved for the given number of
+ * generations.
+ */
+public class StagnationPolicy implements TerminationPolicy {
+
+	private int maxGenerationsWithoutImprovement;
+
+	public StagnationPolicy(int maxGenerationsWithoutImprovement) {
+		this.maxGenerationsWithoutImprovement = maxGenerationsWithoutImprovement;
+	}
+
+	@Override
+	public boolean shouldTerminate(EvolutionStatus status) {
+		return status.getGenerationsWithoutImprovement() >= maxGenerationsWithoutImprovement;
+	}
+
+	@Override
+	public String toString() {
+		return "Stagnation " + maxGenerationsWithoutImprovement + " generations";
+	}
+}
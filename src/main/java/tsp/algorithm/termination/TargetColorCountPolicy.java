@@ -0,0 +1,27 @@
+package tsp.algorithm.termination;
+
+import tsp.algorithm.EvolutionStatus;
+
+/***
+ * Stops when the best chromosome is a legal coloring with at most the given
+ * number of colors.
+ */
+public class TargetColorCountPolicy implements TerminationPolicy {
+
+	private int targetColorCount;
+
+	public TargetColorCountPolicy(int targetColorCount) {
+		this.targetColorCount = targetColorCount;
+	}
+
+	@Override
+	public boolean shouldTerminate(EvolutionStatus status) {
+		return status.getGenerations() > 0 && status.getBestConflictCount() == 0
+				&& status.getBestColorCount() <= targetColorCount;
+	}
+
+	@Override
+	public String toString() {
+		return "Target " + targetColorCount + " colors";
+	}
+}
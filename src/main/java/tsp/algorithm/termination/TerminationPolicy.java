@@ -0,0 +1,26 @@
+package tsp.algorithm.termination;
+
+import tsp.algorithm.EvolutionStatus;
+
+/***
+ * Decides after every generation whether the run should stop. Policies are
+ * stateless, so one instance can be reused for any number of runs.
+ */
+public interface TerminationPolicy {
+
+	boolean shouldTerminate(EvolutionStatus status);
+
+	/**
+	 * Stops when both policies would stop.
+	 */
+	default TerminationPolicy and(TerminationPolicy other) {
+		return new CompositeTerminationPolicy(this, other, true);
+	}
+
+	/**
+	 * Stops when either policy would stop.
+	 */
+	default TerminationPolicy or(TerminationPolicy other) {
+		return new CompositeTerminationPolicy(this, other, false);
+	}
+}
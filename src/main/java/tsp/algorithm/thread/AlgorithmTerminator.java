@@ -6,8 +6,11 @@ import tsp.algorithm.Algorithm;
  * Terminates the algorithm after specified time has expired
  * 
  * @author Student225988
- *
+ * @deprecated sleeps in its own thread and can be started only once, use
+ *             {@link tsp.algorithm.termination.DeadlinePolicy} checked in the
+ *             generation loop instead
  */
+@Deprecated
 public class AlgorithmTerminator extends Thread{
 	
 	private Algorithm algorithm;
@@ -0,0 +1,60 @@
+package tsp.algorithm.thread;
+
+import java.io.Closeable;
+import java.util.concurrent.TimeUnit;
+
+import tsp.algorithm.BestInGenerationListener;
+import tsp.algorithm.individual.Chromosome;
+
+/***
+ * Passes the best chromosomes to a slow listener (e.g. a visualization)
+ * without stalling the evolution: the algorithm thread only publishes a copy
+ * of the chromosome to a {@link ConflatingDispatcher}, which calls the
+ * listener on its own thread with the latest generation, at most once per
+ * interval. Generations published in between are skipped.
+ *
+ * Close after the run to deliver the last generation.
+ */
+public class AsyncBestInGenerationListener implements BestInGenerationListener, Closeable {
+
+	private final ConflatingDispatcher<GenerationBest> dispatcher;
+
+	public AsyncBestInGenerationListener(BestInGenerationListener listener) {
+		this(listener, 0, TimeUnit.MILLISECONDS);
+	}
+
+	public AsyncBestInGenerationListener(BestInGenerationListener listener, long minInterval, TimeUnit unit) {
+		this.dispatcher = new ConflatingDispatcher<>(best -> listener.notify(best.generation, best.chromosome),
+				minInterval, unit);
+	}
+
+	@Override
+	public void notify(int afterGeneration, Chromosome chromosome) {
+		// the population slot is overwritten by the next generation
+		dispatcher.publish(new GenerationBest(afterGeneration, new Chromosome(chromosome)));
+	}
+
+	public long getDeliveredCount() {
+		return dispatcher.getDeliveredCount();
+	}
+
+	public long getConflatedCount() {
+		return dispatcher.getConflatedCount();
+	}
+
+	@Override
+	public void close() {
+		dispatcher.close();
+	}
+
+	private static class GenerationBest {
+
+		private final int generation;
+		private final Chromosome chromosome;
+
+		GenerationBest(int generation, Chromosome chromosome) {
+			this.generation = generation;
+			this.chromosome = chromosome;
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package tsp.algorithm.thread;
+
+import java.io.Closeable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/***
+ * Delivers published values to a consumer on its own daemon thread. The
+ * publisher only swaps the value into a single slot and never blocks: a value
+ * not yet delivered is replaced (conflated) by the newer one. Deliveries are at
+ * least the minimal interval apart.
+ *
+ * Closing delivers the last pending value and stops the thread.
+ */
+public class ConflatingDispatcher<T> implements Closeable {
+
+	private final Consumer<T> consumer;
+	private final long minIntervalNanos;
+
+	private final AtomicReference<T> pending = new AtomicReference<>();
+	private final Thread dispatcherThread;
+	private volatile boolean closed = false;
+
+	private final AtomicLong published = new AtomicLong();
+	private final AtomicLong conflated = new AtomicLong();
+	private volatile long delivered = 0;
+
+	public ConflatingDispatcher(Consumer<T> consumer) {
+		this(consumer, 0, TimeUnit.MILLISECONDS);
+	}
+
+	public ConflatingDispatcher(Consumer<T> consumer, long minInterval, TimeUnit unit) {
+		this.consumer = consumer;
+		this.minIntervalNanos = unit.toNanos(minInterval);
+
+		this.dispatcherThread = new Thread(this::dispatch, "conflating-dispatcher");
+		this.dispatcherThread.setDaemon(true);
+		this.dispatcherThread.start();
+	}
+
+	/**
+	 * Hands the value over for delivery, replacing the pending one. Ignored
+	 * after close.
+	 */
+	public void publish(T value) {
+		if (closed) {
+			return;
+		}
+
+		if (pending.getAndSet(value) != null) {
+			conflated.incrementAndGet();
+		}
+		published.incrementAndGet();
+		LockSupport.unpark(dispatcherThread);
+	}
+
+	public long getPublishedCount() {
+		return published.get();
+	}
+
+	public long getDeliveredCount() {
+		return delivered;
+	}
+
+	/**
+	 * Number of values replaced before they could be delivered.
+	 */
+	public long getConflatedCount() {
+		return conflated.get();
+	}
+
+	/**
+	 * Delivers the pending value, if any, and waits for the dispatcher thread
+	 * to finish.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		LockSupport.unpark(dispatcherThread);
+
+		if (Thread.currentThread() == dispatcherThread) {
+			return;
+		}
+		try {
+			dispatcherThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void dispatch() {
+		while (true) {
+			T value = pending.getAndSet(null);
+
+			if (value == null) {
+				if (closed && pending.get() == null) {
+					return;
+				}
+				LockSupport.park(this);
+				continue;
+			}
+
+			try {
+				consumer.accept(value);
+			} catch (RuntimeException e) {
+				e.printStackTrace();
+			}
+			delivered++;
+
+			// throttle, a close ends the wait so the last value is flushed at once
+			long nextDelivery = System.nanoTime() + minIntervalNanos;
+			for (long wait = minIntervalNanos; wait > 0 && !closed; wait = nextDelivery - System.nanoTime()) {
+				LockSupport.parkNanos(this, wait);
+			}
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package tsp.algorithm.thread;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/***
+ * Runs loops over index ranges on a fork join pool. The range is split into a
+ * few chunks per worker so uneven work (e.g. only some individuals being
+ * mutated) is balanced by work stealing.
+ */
+public class ParallelExecutor {
+
+	private static final int CHUNKS_PER_WORKER = 4;
+
+	private ForkJoinPool pool;
+
+	public ParallelExecutor(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	public ParallelExecutor(int parallelism) {
+		this(new ForkJoinPool(parallelism));
+	}
+
+	public int getParallelism() {
+		return pool.getParallelism();
+	}
+
+	/**
+	 * Calls the action for every index in [from, to) and waits until all calls
+	 * have finished.
+	 */
+	public void forEach(int from, int to, IntConsumer action) {
+		if (to <= from) {
+			return;
+		}
+
+		int threshold = Math.max(1, (to - from) / (pool.getParallelism() * CHUNKS_PER_WORKER));
+		pool.invoke(new RangeAction(from, to, threshold, action));
+	}
+
+	public void shutdown() {
+		pool.shutdown();
+	}
+
+	private static class RangeAction extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int from;
+		private final int to;
+		private final int threshold;
+		private final IntConsumer action;
+
+		RangeAction(int from, int to, int threshold, IntConsumer action) {
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+			this.action = action;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= threshold) {
+				for (int i = from; i < to; i++) {
+					action.accept(i);
+				}
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new RangeAction(from, middle, threshold, action),
+						new RangeAction(middle, to, threshold, action));
+			}
+		}
+	}
+}
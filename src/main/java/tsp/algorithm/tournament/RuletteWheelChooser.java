@@ -7,13 +7,16 @@ import tsp.algorithm.individual.Chromosome;
 import tsp.algorithm.population.Population;
 import tsp.algorithm.util.FitnessCalculator;
 import tsp.algorithm.util.RandomGenerator;
+import tsp.algorithm.util.RandomGeneratorAware;
 
-public class RuletteWheelChooser implements Chooser {
+public class RuletteWheelChooser implements Chooser, RandomGeneratorAware {
 
 	private FitnessCalculator fitnessCalculator;
 	private RandomGenerator randomGenerator;
 	
-	private double[] wheel;
+	// published last, so a non-null wheel implies the other fields are built
+	private volatile double[] wheel;
+	private double[] previousWheel;
 	private Chromosome[] wheelChromosomes;
 	
 	private double wheelRange;
@@ -24,10 +27,21 @@ public class RuletteWheelChooser implements Chooser {
 		randomGenerator = new RandomGenerator();
 	}
 
+	@Override
+	public void setRandomGenerator(RandomGenerator randomGenerator) {
+		this.randomGenerator = randomGenerator;
+	}
+
 	@Override
 	public Chromosome choose(Population population) {
+		double[] wheel = this.wheel;
 		if(wheel == null) {
-			buildWheel(population);
+			synchronized (this) {
+				if(this.wheel == null) {
+					buildWheel(population);
+				}
+				wheel = this.wheel;
+			}
 		}
 		
 		double random = randomGenerator.nextDouble() * wheelRange;
@@ -42,8 +56,12 @@ public class RuletteWheelChooser implements Chooser {
 
 	public void buildWheel(Population population) {
 		
-		wheel = new double[population.getSize()];
-		wheelChromosomes = new Chromosome[population.getSize()];
+		// arrays of previous wheel are reused, it is never read after reset
+		double[] wheel = previousWheel != null && previousWheel.length == population.getSize() ? previousWheel
+				: new double[population.getSize()];
+		if (wheelChromosomes == null || wheelChromosomes.length != population.getSize()) {
+			wheelChromosomes = new Chromosome[population.getSize()];
+		}
 		
 		double totalFitness = 0;
 		for(int i = 0 ; i < population.getSize() ; i++) {
@@ -60,10 +78,12 @@ public class RuletteWheelChooser implements Chooser {
 			}
 		}
 		
+		this.wheel = wheel;
 	}
 	
 	@Override
 	public void resetForNewPopulation() {
+		previousWheel = wheel;
 		wheel = null;
 		
 	}
@@ -4,8 +4,9 @@ import tsp.algorithm.individual.Chromosome;
 import tsp.algorithm.population.Population;
 import tsp.algorithm.util.FitnessCalculator;
 import tsp.algorithm.util.RandomGenerator;
+import tsp.algorithm.util.RandomGeneratorAware;
 
-public class TournamentChooser implements Chooser {
+public class TournamentChooser implements Chooser, RandomGeneratorAware {
 
 	private FitnessCalculator fitnessCalculator;
 	private RandomGenerator randomGenerator;
@@ -24,6 +25,11 @@ public class TournamentChooser implements Chooser {
 		this.tournamentSize = tournamentSize;
 	}
 
+	@Override
+	public void setRandomGenerator(RandomGenerator randomGenerator) {
+		this.randomGenerator = randomGenerator;
+	}
+
 	public Chromosome choose(Population population) {
 		Chromosome bestParticipant = null;
 		double bestParticipantFitness = 0.0;
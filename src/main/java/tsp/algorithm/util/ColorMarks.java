@@ -0,0 +1,54 @@
+package tsp.algorithm.util;
+
+import java.util.Arrays;
+
+/**
+ * Reusable set of colors. Marks are stamps of the current generation, so
+ * clearing is O(1) and the array is only wiped when the stamp overflows.
+ * Grows when a color beyond its capacity is marked. Not thread safe.
+ */
+public class ColorMarks {
+	private int[] marks;
+	private int currentMark = 1;
+
+	public ColorMarks(int capacity) {
+		marks = new int[Math.max(1, capacity)];
+	}
+
+	public void clear() {
+		if (++currentMark == 0) {
+			Arrays.fill(marks, 0);
+			currentMark = 1;
+		}
+	}
+
+	/**
+	 * Marks the color, returns false if it was already marked.
+	 */
+	public boolean mark(int color) {
+		if (color >= marks.length) {
+			marks = Arrays.copyOf(marks, Math.max(color + 1, 2 * marks.length));
+		}
+
+		if (marks[color] == currentMark) {
+			return false;
+		}
+		marks[color] = currentMark;
+		return true;
+	}
+
+	public boolean isMarked(int color) {
+		return color < marks.length && marks[color] == currentMark;
+	}
+
+	/**
+	 * Returns the smallest color that is not marked.
+	 */
+	public int firstUnmarked() {
+		int color = 0;
+		while (isMarked(color)) {
+			color++;
+		}
+		return color;
+	}
+}
@@ -1,30 +1,46 @@
 package tsp.algorithm.util;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 import tsp.algorithm.individual.Chromosome;
 import tsp.algorithm.individual.PhenotypeInterpreter;
 import tsp.algorithm.population.Population;
 import tsp.instance.AbstractInstance;
-import tsp.instance.Edge;
+import tsp.instance.CompressedSparseRowInstance;
 
+/**
+ * Scores chromosomes against the instance. Edges are taken once from the
+ * compressed view of the instance and distinct colors are counted with a
+ * reusable mark array, so evaluation is O(|E| + n) and allocates nothing.
+ * Results are cached on the chromosome until one of its genes changes.
+ * 
+ * Safe to share between threads - every thread counts colors in its own mark
+ * array.
+ */
 public class FitnessCalculator {
-	private AbstractInstance instance;
+	private CompressedSparseRowInstance graph;
 
 	private PhenotypeInterpreter phenotypeInterpreter;
 
+	private ThreadLocal<ColorMarks> colorMarks;
+
 	public FitnessCalculator() {
 	}
 
 	public FitnessCalculator(PhenotypeInterpreter phenotypeInterpreter, AbstractInstance instance) {
-		this.instance = instance;
 		this.phenotypeInterpreter = phenotypeInterpreter;
+		setInstance(instance);
 	}
 
 	public void setInstance(AbstractInstance instance) {
-		this.instance = instance;
+		this.graph = instance.getCompressedView();
+		this.colorMarks = ThreadLocal.withInitial(() -> new ColorMarks(instance.getSize()));
+	}
+
+	public CompressedSparseRowInstance getGraph() {
+		return graph;
+	}
+
+	public PhenotypeInterpreter getPhenotypeInterpreter() {
+		return phenotypeInterpreter;
 	}
 	
     public Chromosome findTheFittest(Population population) {
@@ -44,10 +60,45 @@ public class FitnessCalculator {
     }
 	
 	public double calculateFitness(Chromosome chromosome) {
+		evaluate(chromosome);
+
+		return chromosome.getCachedFitness();
+	}
+
+	public int countColors(Chromosome chromosome) {
+		evaluate(chromosome);
+
+		return chromosome.getCachedColorCount();
+	}
+
+	public int countInvalidEdges(Chromosome chromosome) {
+		evaluate(chromosome);
+
+		return chromosome.getCachedConflictCount();
+	}
+
+	/**
+	 * Scores the chromosome and caches the result on it, unless it already holds
+	 * a valid evaluation.
+	 */
+	public void evaluate(Chromosome chromosome) {
+		if (!chromosome.isEvaluated()) {
+			int colorCount = computeColors(chromosome);
+			int invalidEdgesCount = computeInvalidEdges(chromosome);
+
+			chromosome.cacheEvaluation(colorCount, invalidEdgesCount, calculateScore(colorCount, invalidEdgesCount));
+		}
+	}
+
+	/**
+	 * Returns 1 / (colors + conflicts), or 1 / (1 + conflicts) when the
+	 * interpreter limits the number of colors.
+	 */
+	public double calculateScore(int colorCount, int invalidEdgesCount) {
+		if (phenotypeInterpreter != null && phenotypeInterpreter.isColorLimited()) {
+			return (double) 1 / (1 + invalidEdgesCount);
+		}
 
-		int colorCount = countColors(chromosome);
-		int invalidEdgesCount = countInvalidEdges(chromosome);
-		
 		double score = (double) 1 / (colorCount + invalidEdgesCount);
 		
 		return score;
@@ -59,28 +110,29 @@ public class FitnessCalculator {
 //		return 0.3 * colorCountsScore + 0.7 * validityScore;
 	}
 	
-	public int countColors(Chromosome chromosome) {
-		Map<Integer, Integer> colorCounts = new HashMap<>();
+	private int computeColors(Chromosome chromosome) {
+		ColorMarks marks = colorMarks.get();
+		marks.clear();
 
+		int count = 0;
 		for (int i = 0; i < chromosome.getLength(); i++) {
 			int color = phenotypeInterpreter.getColor(chromosome, i);
 
-			colorCounts.putIfAbsent(color, 0);
-			colorCounts.computeIfPresent(color, (key, value) -> value + 1);
+			if (marks.mark(color)) {
+				count++;
+			}
 		}
 		
-		return colorCounts.keySet().size();
+		return count;
 	}
 
-	// TODO maybe store graph as list of edges for performance of this method?
-	// TODO maybe reimplement to use edge list instance better
-	public int countInvalidEdges(Chromosome chromosome) {
-		int count = 0;	
-		List<Edge> edges = instance.getAllEdges();
-	
-		for (Edge edge : edges) {
-			if (phenotypeInterpreter.getColor(chromosome, edge.getFrom()) == phenotypeInterpreter.getColor(chromosome,
-					edge.getTo())) {
+	private int computeInvalidEdges(Chromosome chromosome) {
+		int count = 0;
+		int edgeCount = graph.getEdgeCount();
+
+		for (int e = 0; e < edgeCount; e++) {
+			if (phenotypeInterpreter.getColor(chromosome, graph.getEdgeFrom(e)) == phenotypeInterpreter
+					.getColor(chromosome, graph.getEdgeTo(e))) {
 
 				count++;
 			}
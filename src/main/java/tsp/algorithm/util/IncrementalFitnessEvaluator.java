@@ -0,0 +1,332 @@
+package tsp.algorithm.util;
+
+import java.util.Arrays;
+
+import tsp.algorithm.individual.Chromosome;
+import tsp.algorithm.individual.PhenotypeInterpreter;
+import tsp.instance.AbstractInstance;
+import tsp.instance.CompressedSparseRowInstance;
+
+/**
+ * Keeps the conflict count and per-color usage counts of one attached
+ * chromosome up to date while its genes change, so recoloring a vertex costs
+ * O(deg(v)) instead of a full re-evaluation. The cached evaluation of the
+ * chromosome stays valid after every recoloring. Usage counts are stored on
+ * the chromosome ({@link IncrementalState}) and copied with it, so attaching a
+ * chromosome which already has them is O(1).
+ * 
+ * Optionally it also tracks the number of conflicts at every vertex and the
+ * set of conflicting vertices, so they can be iterated or sampled in O(1).
+ * The index is built in O(|E|) on the first tracking attach and is then kept
+ * in the chromosome's state as well, updated by every recoloring.
+ * 
+ * Genes of the attached chromosome must be changed only through
+ * {@link #recolor(int, int)}. Not thread safe.
+ */
+public class IncrementalFitnessEvaluator {
+
+	private FitnessCalculator fitnessCalculator;
+	private PhenotypeInterpreter phenotypeInterpreter;
+	private CompressedSparseRowInstance graph;
+
+	private Chromosome chromosome;
+	private IncrementalState state;
+	private boolean trackConflictingVertices = false;
+	private ColorMarks neighborColors;
+	private int[] neighborColorCounts = new int[0];
+
+	private int colorCount;
+	private int conflictCount;
+
+	public IncrementalFitnessEvaluator(FitnessCalculator fitnessCalculator) {
+		this.fitnessCalculator = fitnessCalculator;
+		this.phenotypeInterpreter = fitnessCalculator.getPhenotypeInterpreter();
+		this.graph = fitnessCalculator.getGraph();
+		this.neighborColors = new ColorMarks(graph.getSize());
+	}
+
+	public IncrementalFitnessEvaluator(FitnessCalculator fitnessCalculator, boolean trackConflictingVertices) {
+		this(fitnessCalculator);
+
+		this.trackConflictingVertices = trackConflictingVertices;
+	}
+
+	public IncrementalFitnessEvaluator(PhenotypeInterpreter phenotypeInterpreter, AbstractInstance instance) {
+		this(new FitnessCalculator(phenotypeInterpreter, instance));
+	}
+
+	/**
+	 * Starts tracking the chromosome. Costs O(1) if it holds a valid
+	 * incremental state, O(n) if it holds only a cached evaluation, O(|E| + n)
+	 * otherwise.
+	 */
+	public void attach(Chromosome chromosome) {
+		this.chromosome = chromosome;
+
+		boolean stateValid = chromosome.hasIncrementalState();
+		if (!stateValid) {
+			fitnessCalculator.evaluate(chromosome);
+		}
+		conflictCount = chromosome.getCachedConflictCount();
+		colorCount = chromosome.getCachedColorCount();
+
+		state = chromosome.getIncrementalState();
+		if (!stateValid) {
+			countColorUsage();
+			state.conflictsIndexed = false;
+			chromosome.cacheIncrementalEvaluation(colorCount, conflictCount, chromosome.getCachedFitness());
+		}
+
+		if (trackConflictingVertices && !state.conflictsIndexed) {
+			indexConflicts();
+		}
+	}
+
+	private void countColorUsage() {
+		Arrays.fill(state.colorUsage, 0);
+		for (int i = 0; i < chromosome.getLength(); i++) {
+			int color = phenotypeInterpreter.getColor(chromosome, i);
+
+			state.ensureColorCapacity(color);
+			state.colorUsage[color]++;
+		}
+	}
+
+	private void indexConflicts() {
+		state.ensureConflictIndex(graph.getSize());
+
+		int[] conflictsAt = state.conflictsAt;
+		IndexedIntSet conflictingVertices = state.conflictingVertices;
+		Arrays.fill(conflictsAt, 0);
+		conflictingVertices.clear();
+
+		int edgeCount = graph.getEdgeCount();
+		for (int e = 0; e < edgeCount; e++) {
+			int from = graph.getEdgeFrom(e);
+			int to = graph.getEdgeTo(e);
+
+			if (phenotypeInterpreter.getColor(chromosome, from) == phenotypeInterpreter.getColor(chromosome, to)) {
+				if (conflictsAt[from]++ == 0) {
+					conflictingVertices.add(from);
+				}
+				if (conflictsAt[to]++ == 0) {
+					conflictingVertices.add(to);
+				}
+			}
+		}
+		state.conflictsIndexed = true;
+	}
+
+	public void detach() {
+		chromosome = null;
+		state = null;
+	}
+
+	public Chromosome getChromosome() {
+		return chromosome;
+	}
+
+	/**
+	 * Changes the color of the vertex updating conflicts and color counts in
+	 * O(deg(vertex)).
+	 */
+	public void recolor(int vertex, int color) {
+		int oldColor = phenotypeInterpreter.getColor(chromosome, vertex);
+
+		if (oldColor == color) {
+			return;
+		}
+
+		if (state.conflictsIndexed) {
+			updateConflictIndex(vertex, oldColor, color);
+		} else {
+			conflictCount += getRecolorDelta(vertex, color);
+		}
+
+		if (--state.colorUsage[oldColor] == 0) {
+			colorCount--;
+		}
+
+		state.ensureColorCapacity(color);
+		if (state.colorUsage[color]++ == 0) {
+			colorCount++;
+		}
+
+		phenotypeInterpreter.setColor(chromosome, vertex, color);
+		chromosome.cacheIncrementalEvaluation(colorCount, conflictCount,
+				fitnessCalculator.calculateScore(colorCount, conflictCount));
+	}
+
+	private void updateConflictIndex(int vertex, int oldColor, int color) {
+		int[] conflictsAt = state.conflictsAt;
+		IndexedIntSet conflictingVertices = state.conflictingVertices;
+
+		int degree = graph.getDegree(vertex);
+		for (int k = 0; k < degree; k++) {
+			int neighbor = graph.getNeighborAt(vertex, k);
+			int neighborColor = phenotypeInterpreter.getColor(chromosome, neighbor);
+
+			if (neighborColor == oldColor) {
+				conflictCount--;
+				conflictsAt[vertex]--;
+				if (--conflictsAt[neighbor] == 0) {
+					conflictingVertices.remove(neighbor);
+				}
+			} else if (neighborColor == color) {
+				conflictCount++;
+				conflictsAt[vertex]++;
+				if (conflictsAt[neighbor]++ == 0) {
+					conflictingVertices.add(neighbor);
+				}
+			}
+		}
+
+		if (conflictsAt[vertex] == 0) {
+			conflictingVertices.remove(vertex);
+		} else {
+			conflictingVertices.add(vertex);
+		}
+	}
+
+	/**
+	 * Returns the change of conflict count that recoloring the vertex would
+	 * cause, without applying it.
+	 */
+	public int getRecolorDelta(int vertex, int color) {
+		int oldColor = phenotypeInterpreter.getColor(chromosome, vertex);
+
+		if (oldColor == color) {
+			return 0;
+		}
+
+		int delta = 0;
+		int degree = graph.getDegree(vertex);
+		for (int k = 0; k < degree; k++) {
+			int neighborColor = phenotypeInterpreter.getColor(chromosome, graph.getNeighborAt(vertex, k));
+
+			if (neighborColor == color) {
+				delta++;
+			} else if (neighborColor == oldColor) {
+				delta--;
+			}
+		}
+		return delta;
+	}
+
+	/**
+	 * Returns number of neighbours sharing the color of the vertex.
+	 */
+	public int getConflictsAt(int vertex) {
+		if (state.conflictsIndexed) {
+			return state.conflictsAt[vertex];
+		}
+
+		int color = phenotypeInterpreter.getColor(chromosome, vertex);
+
+		int conflicts = 0;
+		int degree = graph.getDegree(vertex);
+		for (int k = 0; k < degree; k++) {
+			if (phenotypeInterpreter.getColor(chromosome, graph.getNeighborAt(vertex, k)) == color) {
+				conflicts++;
+			}
+		}
+		return conflicts;
+	}
+
+	/**
+	 * Tells if any neighbour shares the color of the vertex, stopping at the
+	 * first one found.
+	 */
+	public boolean hasConflictAt(int vertex) {
+		if (state.conflictsIndexed) {
+			return state.conflictsAt[vertex] > 0;
+		}
+
+		int color = phenotypeInterpreter.getColor(chromosome, vertex);
+
+		int degree = graph.getDegree(vertex);
+		for (int k = 0; k < degree; k++) {
+			if (phenotypeInterpreter.getColor(chromosome, graph.getNeighborAt(vertex, k)) == color) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the smallest color not used by any neighbour of the vertex. It is
+	 * never greater than the degree, so the search is O(deg(vertex)).
+	 */
+	public int findSmallestFreeColor(int vertex) {
+		neighborColors.clear();
+
+		int degree = graph.getDegree(vertex);
+		for (int k = 0; k < degree; k++) {
+			neighborColors.mark(phenotypeInterpreter.getColor(chromosome, graph.getNeighborAt(vertex, k)));
+		}
+		return neighborColors.firstUnmarked();
+	}
+
+	public boolean isTrackingConflictingVertices() {
+		return trackConflictingVertices;
+	}
+
+	/**
+	 * Returns the maintained set of vertices having at least one conflict. Must
+	 * not be modified, changes with every recoloring. Available only when
+	 * conflicting vertices are tracked.
+	 */
+	public IndexedIntSet getConflictingVertices() {
+		return trackConflictingVertices ? state.conflictingVertices : null;
+	}
+
+	/**
+	 * Returns the color from [0, colorRange) used by fewest neighbours of the
+	 * vertex, the smallest free one if there is any. O(deg(vertex)) if a free
+	 * color exists, O(deg(vertex) + colorRange) otherwise.
+	 */
+	public int findLeastConflictingColor(int vertex, int colorRange) {
+		int freeColor = findSmallestFreeColor(vertex);
+		if (freeColor < colorRange) {
+			return freeColor;
+		}
+
+		if (neighborColorCounts.length < colorRange) {
+			neighborColorCounts = new int[colorRange];
+		}
+		Arrays.fill(neighborColorCounts, 0, colorRange, 0);
+
+		int degree = graph.getDegree(vertex);
+		for (int k = 0; k < degree; k++) {
+			int neighborColor = phenotypeInterpreter.getColor(chromosome, graph.getNeighborAt(vertex, k));
+			if (neighborColor < colorRange) {
+				neighborColorCounts[neighborColor]++;
+			}
+		}
+
+		int leastConflicting = 0;
+		for (int color = 1; color < colorRange; color++) {
+			if (neighborColorCounts[color] < neighborColorCounts[leastConflicting]) {
+				leastConflicting = color;
+			}
+		}
+		return leastConflicting;
+	}
+
+	public int getColorUsage(int color) {
+		return color < state.colorUsage.length ? state.colorUsage[color] : 0;
+	}
+
+	public int getColorCount() {
+		return colorCount;
+	}
+
+	public int getConflictCount() {
+		return conflictCount;
+	}
+
+	public CompressedSparseRowInstance getGraph() {
+		return graph;
+	}
+
+}
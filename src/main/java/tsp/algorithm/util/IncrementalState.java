@@ -0,0 +1,62 @@
+package tsp.algorithm.util;
+
+import java.util.Arrays;
+
+/**
+ * Per color usage counts of a chromosome and optionally its per vertex
+ * conflict index, kept on the chromosome by {@link IncrementalFitnessEvaluator}
+ * next to its cached evaluation. Copied with the evaluation, so offspring
+ * copied from an attached parent can be attached again in O(1).
+ */
+public class IncrementalState {
+
+	int[] colorUsage = new int[0];
+
+	// valid only if conflictsIndexed, conflictsAt is non zero exactly for the vertices in the set
+	boolean conflictsIndexed = false;
+	int[] conflictsAt;
+	IndexedIntSet conflictingVertices;
+
+	/**
+	 * Overwrites this state with the other one, reusing the arrays. Costs
+	 * O(colors + conflicting vertices of both).
+	 */
+	public void copyFrom(IncrementalState other) {
+		if (colorUsage.length != other.colorUsage.length) {
+			colorUsage = Arrays.copyOf(other.colorUsage, other.colorUsage.length);
+		} else {
+			System.arraycopy(other.colorUsage, 0, colorUsage, 0, colorUsage.length);
+		}
+
+		if (other.conflictsIndexed) {
+			ensureConflictIndex(other.conflictsAt.length);
+			if (conflictsIndexed) {
+				for (int i = 0; i < conflictingVertices.size(); i++) {
+					conflictsAt[conflictingVertices.get(i)] = 0;
+				}
+			} else {
+				Arrays.fill(conflictsAt, 0);
+			}
+
+			conflictingVertices.copyFrom(other.conflictingVertices);
+			for (int i = 0; i < conflictingVertices.size(); i++) {
+				int vertex = conflictingVertices.get(i);
+				conflictsAt[vertex] = other.conflictsAt[vertex];
+			}
+		}
+		conflictsIndexed = other.conflictsIndexed;
+	}
+
+	void ensureColorCapacity(int color) {
+		if (color >= colorUsage.length) {
+			colorUsage = Arrays.copyOf(colorUsage, Math.max(color + 1, 2 * colorUsage.length));
+		}
+	}
+
+	void ensureConflictIndex(int vertexCount) {
+		if (conflictsAt == null) {
+			conflictsAt = new int[vertexCount];
+			conflictingVertices = new IndexedIntSet(vertexCount);
+		}
+	}
+}
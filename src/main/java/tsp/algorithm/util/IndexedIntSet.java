@@ -0,0 +1,98 @@
+package tsp.algorithm.util;
+
+import java.util.Arrays;
+
+/**
+ * Set of ints from [0, capacity) with O(1) add, remove, contains and access by
+ * position, so it can be iterated in O(size) and sampled uniformly in O(1).
+ * Elements are kept densely in an array, removal moves the last element into
+ * the freed position. Not thread safe.
+ */
+public class IndexedIntSet {
+
+	private int[] elements;
+	private int[] positions;
+	private int size = 0;
+
+	public IndexedIntSet(int capacity) {
+		elements = new int[capacity];
+		positions = new int[capacity];
+		Arrays.fill(positions, -1);
+	}
+
+	public boolean add(int element) {
+		if (positions[element] >= 0) {
+			return false;
+		}
+
+		elements[size] = element;
+		positions[element] = size++;
+		return true;
+	}
+
+	public boolean remove(int element) {
+		int position = positions[element];
+		if (position < 0) {
+			return false;
+		}
+
+		int last = elements[--size];
+		elements[position] = last;
+		positions[last] = position;
+		positions[element] = -1;
+		return true;
+	}
+
+	public boolean contains(int element) {
+		return positions[element] >= 0;
+	}
+
+	/**
+	 * Returns element at the position in [0, size). Positions change when
+	 * elements are removed.
+	 */
+	public int get(int position) {
+		return elements[position];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int getRandom(RandomGenerator randomGenerator) {
+		return elements[randomGenerator.generateIntInRangeExclusive(0, size)];
+	}
+
+	/**
+	 * Copies the elements to the array starting at index 0, returns their count.
+	 */
+	public int copyTo(int[] target) {
+		System.arraycopy(elements, 0, target, 0, size);
+		return size;
+	}
+
+	/**
+	 * Overwrites this set with the elements of the other one of the same
+	 * capacity in O(size of both).
+	 */
+	public void copyFrom(IndexedIntSet other) {
+		clear();
+
+		System.arraycopy(other.elements, 0, elements, 0, other.size);
+		size = other.size;
+		for (int i = 0; i < size; i++) {
+			positions[elements[i]] = i;
+		}
+	}
+
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			positions[elements[i]] = -1;
+		}
+		size = 0;
+	}
+}
@@ -0,0 +1,119 @@
+package tsp.algorithm.util;
+
+import java.util.Arrays;
+
+/**
+ * Binary min heap of ints from [0, capacity) keyed by doubles. Every element
+ * knows its heap position, so its key can be changed in O(log n); the element
+ * with the smallest key is read in O(1). Not thread safe.
+ */
+public class IndexedMinHeap {
+
+	private int[] heap;
+	private int[] positions;
+	private double[] keys;
+	private int size = 0;
+
+	public IndexedMinHeap(int capacity) {
+		heap = new int[capacity];
+		positions = new int[capacity];
+		keys = new double[capacity];
+		Arrays.fill(positions, -1);
+	}
+
+	public int getCapacity() {
+		return heap.length;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean contains(int element) {
+		return positions[element] >= 0;
+	}
+
+	/**
+	 * Adds the element, or changes its key if already present.
+	 */
+	public void put(int element, double key) {
+		int position = positions[element];
+		if (position < 0) {
+			heap[size] = element;
+			positions[element] = size;
+			keys[element] = key;
+			siftUp(size++);
+		} else {
+			double oldKey = keys[element];
+			keys[element] = key;
+			if (key < oldKey) {
+				siftUp(position);
+			} else {
+				siftDown(position);
+			}
+		}
+	}
+
+	/**
+	 * Returns the element with the smallest key, -1 if empty.
+	 */
+	public int peek() {
+		return size > 0 ? heap[0] : -1;
+	}
+
+	public double getKey(int element) {
+		return keys[element];
+	}
+
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			positions[heap[i]] = -1;
+		}
+		size = 0;
+	}
+
+	private void siftUp(int position) {
+		int element = heap[position];
+		double key = keys[element];
+
+		while (position > 0) {
+			int parent = (position - 1) >>> 1;
+			if (keys[heap[parent]] <= key) {
+				break;
+			}
+			move(heap[parent], position);
+			position = parent;
+		}
+		move(element, position);
+	}
+
+	private void siftDown(int position) {
+		int element = heap[position];
+		double key = keys[element];
+
+		while (true) {
+			int child = 2 * position + 1;
+			if (child >= size) {
+				break;
+			}
+			if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+				child++;
+			}
+			if (key <= keys[heap[child]]) {
+				break;
+			}
+			move(heap[child], position);
+			position = child;
+		}
+		move(element, position);
+	}
+
+	private void move(int element, int position) {
+		heap[position] = element;
+		positions[element] = position;
+	}
+}
@@ -0,0 +1,101 @@
+package tsp.algorithm.util;
+
+import java.util.Arrays;
+
+/**
+ * Multiset of longs with O(1) expected add, remove and contains. Open
+ * addressing with linear probing in primitive arrays sized once for the given
+ * number of distinct elements, removal shifts the following entries back so no
+ * tombstones pile up. Not thread safe.
+ */
+public class LongMultiset {
+
+	private long[] keys;
+	// occurrences of the key in the slot, 0 for a free slot
+	private int[] counts;
+	private int mask;
+	private int capacity;
+	private int distinctCount = 0;
+
+	public LongMultiset(int capacity) {
+		int tableSize = 2;
+		while (tableSize < 2 * capacity) {
+			tableSize <<= 1;
+		}
+
+		this.keys = new long[tableSize];
+		this.counts = new int[tableSize];
+		this.mask = tableSize - 1;
+		this.capacity = capacity;
+	}
+
+	public void add(long element) {
+		int slot = find(element);
+		if (counts[slot] == 0) {
+			if (distinctCount == capacity) {
+				throw new IllegalStateException("More than " + capacity + " distinct elements");
+			}
+			keys[slot] = element;
+			distinctCount++;
+		}
+		counts[slot]++;
+	}
+
+	/**
+	 * Removes one occurrence of the element, returns false if there was none.
+	 */
+	public boolean remove(long element) {
+		int slot = find(element);
+		if (counts[slot] == 0) {
+			return false;
+		}
+		if (--counts[slot] > 0) {
+			return true;
+		}
+
+		// move back entries which would no longer be reachable over the freed slot
+		int free = slot;
+		for (int next = (slot + 1) & mask; counts[next] > 0; next = (next + 1) & mask) {
+			int home = home(keys[next]);
+			if (((next - home) & mask) >= ((next - free) & mask)) {
+				keys[free] = keys[next];
+				counts[free] = counts[next];
+				counts[next] = 0;
+				free = next;
+			}
+		}
+		distinctCount--;
+		return true;
+	}
+
+	public boolean contains(long element) {
+		return counts[find(element)] > 0;
+	}
+
+	public int getCount(long element) {
+		return counts[find(element)];
+	}
+
+	public int getDistinctCount() {
+		return distinctCount;
+	}
+
+	public void clear() {
+		Arrays.fill(counts, 0);
+		distinctCount = 0;
+	}
+
+	// slot holding the element, or the free slot ending its probe sequence
+	private int find(long element) {
+		int slot = home(element);
+		while (counts[slot] > 0 && keys[slot] != element) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private int home(long element) {
+		long hash = element * 0x9e3779b97f4a7c15L;
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+}
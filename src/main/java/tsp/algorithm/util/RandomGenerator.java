@@ -1,15 +1,76 @@
 package tsp.algorithm.util;
 
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
+/***
+ * Source of randomness shared by the algorithm and its operators.
+ *
+ * Created without a seed it draws from {@link ThreadLocalRandom}. Created with
+ * a seed every thread draws from its own splitmix64 stream, so threads never
+ * contend. A seeded run is reproducible when every unit of work that may run
+ * on any thread (e.g. breeding of one pair) first selects its stream with
+ * {@link #selectStream(long)} - the stream depends only on the seed and the
+ * key, not on the thread. Selecting a stream reseeds the thread's generator in
+ * place, nothing is allocated per key.
+ */
 public class RandomGenerator {
-	
+
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	private final boolean seeded;
+	private final long seed;
+
+	private final ThreadLocal<Stream> streams;
+	private final AtomicLong threadCounter = new AtomicLong();
+
+	public RandomGenerator() {
+		this.seeded = false;
+		this.seed = 0;
+		this.streams = null;
+	}
+
+	public RandomGenerator(long seed) {
+		this.seeded = true;
+		this.seed = seed;
+		// until a stream is selected threads draw from streams numbered in order of first use
+		this.streams = ThreadLocal
+				.withInitial(() -> new Stream(mix(~seed + threadCounter.getAndIncrement() * GOLDEN_GAMMA)));
+	}
+
+	public boolean isSeeded() {
+		return seeded;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Switches the current thread to the stream identified by the key. Does
+	 * nothing if the generator is not seeded.
+	 */
+	public void selectStream(long key) {
+		if (seeded) {
+			streams.get().state = streamSeed(key);
+		}
+	}
+
+	/**
+	 * Returns independent generator for the key, e.g. for one island or one
+	 * run of a batch. Not seeded if this generator is not seeded.
+	 */
+	public RandomGenerator split(long key) {
+		return seeded ? new RandomGenerator(streamSeed(key)) : new RandomGenerator();
+	}
+
 	public int generateIntInRangeInclusive(int min, int max) {
-		return ThreadLocalRandom.current().nextInt(min, max + 1);
+		return generateIntInRangeExclusive(min, max + 1);
 	}
 	
 	public int generateIntInRangeExclusive(int min, int maxExclusive) {
-		return ThreadLocalRandom.current().nextInt(min, maxExclusive);
+		return seeded ? streams.get().nextInt(min, maxExclusive)
+				: ThreadLocalRandom.current().nextInt(min, maxExclusive);
 	}
 	
 	/**
@@ -18,6 +79,124 @@ public class RandomGenerator {
 	 * @return a pseudorandom double value between zero (inclusive) and one (exclusive).
 	 */
 	public double nextDouble() {
-		return ThreadLocalRandom.current().nextDouble();
+		return seeded ? streams.get().nextDouble() : ThreadLocalRandom.current().nextDouble();
+	}
+
+	/**
+	 * Fills target[offset .. offset + length) with ints from [min, maxExclusive),
+	 * the stream is looked up once for the whole range.
+	 */
+	public void fillIntsInRange(int[] target, int offset, int length, int min, int maxExclusive) {
+		int end = offset + length;
+		if (seeded) {
+			Stream random = streams.get();
+			for (int i = offset; i < end; i++) {
+				target[i] = random.nextInt(min, maxExclusive);
+			}
+		} else {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			for (int i = offset; i < end; i++) {
+				target[i] = random.nextInt(min, maxExclusive);
+			}
+		}
+	}
+
+	/**
+	 * Fills target[offset .. offset + length) with doubles from [0, 1).
+	 */
+	public void fillDoubles(double[] target, int offset, int length) {
+		int end = offset + length;
+		if (seeded) {
+			Stream random = streams.get();
+			for (int i = offset; i < end; i++) {
+				target[i] = random.nextDouble();
+			}
+		} else {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			for (int i = offset; i < end; i++) {
+				target[i] = random.nextDouble();
+			}
+		}
+	}
+
+	/**
+	 * Returns number of failed trials before the next success of independent
+	 * trials succeeding with the probability (geometric distribution). Lets
+	 * rare events be placed with one draw per event instead of one per trial.
+	 * Integer.MAX_VALUE if the probability is not positive.
+	 */
+	public int nextGeometricSkip(double probability) {
+		if (probability >= 1) {
+			return 0;
+		}
+		if (probability <= 0) {
+			return Integer.MAX_VALUE;
+		}
+
+		// 1 - u is in (0, 1], its logarithm is finite
+		double skip = Math.floor(Math.log(1 - nextDouble()) / Math.log1p(-probability));
+		return skip >= Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) skip;
+	}
+
+	private long streamSeed(long key) {
+		return mix(seed + (key + 1) * GOLDEN_GAMMA);
+	}
+
+	// MurmurHash3 finalizer, neighbouring keys give unrelated seeds
+	private static long mix(long z) {
+		z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+		z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		return z ^ (z >>> 33);
+	}
+
+	/**
+	 * Mutable splitmix64 generator, one per thread, reseeded by
+	 * {@link RandomGenerator#selectStream(long)}.
+	 */
+	private static final class Stream {
+
+		private long state;
+
+		Stream(long state) {
+			this.state = state;
+		}
+
+		long nextLong() {
+			long z = (state += GOLDEN_GAMMA);
+			z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+			z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+			return z ^ (z >>> 31);
+		}
+
+		int nextInt() {
+			return (int) (nextLong() >>> 32);
+		}
+
+		// same contract as SplittableRandom.nextInt(int, int), unbiased by rejection
+		int nextInt(int origin, int bound) {
+			if (origin >= bound) {
+				throw new IllegalArgumentException("bound must be greater than origin");
+			}
+			int r = nextInt();
+			int n = bound - origin;
+			int m = n - 1;
+			if ((n & m) == 0) {
+				return (r & m) + origin;
+			}
+			if (n > 0) {
+				for (int u = r >>> 1; u + m - (r = u % n) < 0; u = nextInt() >>> 1) {
+				}
+				return r + origin;
+			}
+			// range wider than Integer.MAX_VALUE
+			while (r < origin || r >= bound) {
+				r = nextInt();
+			}
+			return r;
+		}
+
+		double nextDouble() {
+			return (nextLong() >>> 11) * 0x1.0p-53;
+		}
 	}
 }
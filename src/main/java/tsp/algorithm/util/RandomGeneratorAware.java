@@ -0,0 +1,10 @@
+package tsp.algorithm.util;
+
+/***
+ * Component drawing random numbers, lets the algorithm replace its generator
+ * with the (seeded) generator of the run.
+ */
+public interface RandomGeneratorAware {
+
+	void setRandomGenerator(RandomGenerator randomGenerator);
+}
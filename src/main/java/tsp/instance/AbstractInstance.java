@@ -12,6 +12,8 @@ public abstract class AbstractInstance {
 	protected int size;
 	
 	protected String name;
+
+	private volatile CompressedSparseRowInstance compressedView;
 	
 	public AbstractInstance(int size) {
 		this.size = size;
@@ -37,6 +39,35 @@ public abstract class AbstractInstance {
 	public abstract List<Edge> getAllEdges();
 	
 	public abstract List<Edge> getAdjacentEdges(int vertex);
+
+	/**
+	 * Returns compressed sparse row copy of this instance. It is built on first
+	 * call and reused until the instance is modified.
+	 */
+	public synchronized CompressedSparseRowInstance getCompressedView() {
+		if (compressedView == null) {
+			compressedView = buildCompressedView();
+		}
+		return compressedView;
+	}
+
+	/**
+	 * Builds the compressed view, by default from the adjacent edges.
+	 */
+	protected CompressedSparseRowInstance buildCompressedView() {
+		return CompressedSparseRowInstance.of(this);
+	}
+
+	/**
+	 * Adopts an already built compressed copy of this instance as its view.
+	 */
+	protected final synchronized void setCompressedView(CompressedSparseRowInstance compressedView) {
+		this.compressedView = compressedView;
+	}
+
+	protected final void invalidateCompressedView() {
+		compressedView = null;
+	}
 	
 	// TODO implement toString
 }
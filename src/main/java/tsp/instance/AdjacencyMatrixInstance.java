@@ -15,6 +15,7 @@ public class AdjacencyMatrixInstance extends AbstractInstance {
 
 		public void setConnected(int vertexA, int vertexB, boolean connected) {
 			adjacencyMatrix[Math.min(vertexA, vertexB)][Math.max(vertexA, vertexB)] = connected ? 1 : 0;
+			invalidateCompressedView();
 		}
 
 		public boolean areConnected(int vertexA, int vertexB) {
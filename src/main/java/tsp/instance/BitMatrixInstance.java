@@ -0,0 +1,142 @@
+package tsp.instance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/***
+ * Dense instance storing the adjacency matrix as packed bits. Every vertex has
+ * a full row of longs (both (a, b) and (b, a) are set), so adjacency is tested
+ * with a single memory access. The compressed view is built directly from the
+ * bit rows, without edge objects.
+ *
+ * Memory is n * n / 8 bytes, 64 times less than {@link AdjacencyMatrixInstance}.
+ */
+public class BitMatrixInstance extends AbstractInstance {
+
+	private final int words;
+
+	private final long[] rows;
+
+	public BitMatrixInstance(int size) {
+		super(size);
+
+		words = (size + 63) >>> 6;
+		if ((long) words * size > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Bit matrix of " + size + " vertices is too large");
+		}
+		rows = new long[words * size];
+	}
+
+	/**
+	 * Copies the compressed instance into bit rows and keeps it as the
+	 * compressed view, so it is not built again.
+	 */
+	public static BitMatrixInstance of(CompressedSparseRowInstance sparse) {
+		BitMatrixInstance dense = new BitMatrixInstance(sparse.getSize());
+
+		for (int v = 0; v < dense.size; v++) {
+			int row = v * dense.words;
+			int degree = sparse.getDegree(v);
+			for (int k = 0; k < degree; k++) {
+				int neighbor = sparse.getNeighborAt(v, k);
+				dense.rows[row + (neighbor >>> 6)] |= 1L << neighbor;
+			}
+		}
+		dense.setCompressedView(sparse);
+
+		return dense;
+	}
+
+	@Override
+	public void setConnected(int vertexA, int vertexB, boolean connected) {
+		if (vertexA == vertexB) {
+			return;
+		}
+
+		if (connected) {
+			rows[vertexA * words + (vertexB >>> 6)] |= 1L << vertexB;
+			rows[vertexB * words + (vertexA >>> 6)] |= 1L << vertexA;
+		} else {
+			rows[vertexA * words + (vertexB >>> 6)] &= ~(1L << vertexB);
+			rows[vertexB * words + (vertexA >>> 6)] &= ~(1L << vertexA);
+		}
+		invalidateCompressedView();
+	}
+
+	@Override
+	public boolean areConnected(int vertexA, int vertexB) {
+		return (rows[vertexA * words + (vertexB >>> 6)] & (1L << vertexB)) != 0;
+	}
+
+	public int getDegree(int vertex) {
+		int degree = 0;
+		for (int w = vertex * words, end = w + words; w < end; w++) {
+			degree += Long.bitCount(rows[w]);
+		}
+		return degree;
+	}
+
+	/**
+	 * Scans the bit rows into ascending neighbour arrays in O(n * n / 64 + |E|).
+	 */
+	@Override
+	protected CompressedSparseRowInstance buildCompressedView() {
+		int[] offsets = new int[size + 1];
+		for (int v = 0; v < size; v++) {
+			offsets[v + 1] = offsets[v] + getDegree(v);
+		}
+
+		int[] neighbors = new int[offsets[size]];
+		int position = 0;
+		for (int v = 0; v < size; v++) {
+			for (int w = 0; w < words; w++) {
+				long word = rows[v * words + w];
+
+				while (word != 0) {
+					neighbors[position++] = (w << 6) + Long.numberOfTrailingZeros(word);
+					word &= word - 1;
+				}
+			}
+		}
+
+		return CompressedSparseRowInstance.fromAdjacency(size, offsets, neighbors);
+	}
+
+	@Override
+	public List<Edge> getAllEdges() {
+		List<Edge> allEdges = new ArrayList<>();
+
+		for (int v = 0; v < size; v++) {
+			// upper triangle only, starting in the word holding v + 1
+			for (int w = (v + 1) >>> 6; w < words; w++) {
+				long word = rows[v * words + w];
+				if (w == (v + 1) >>> 6) {
+					word &= -1L << (v + 1);
+				}
+
+				while (word != 0) {
+					allEdges.add(new Edge(v, (w << 6) + Long.numberOfTrailingZeros(word)));
+					word &= word - 1;
+				}
+			}
+		}
+
+		return allEdges;
+	}
+
+	@Override
+	public List<Edge> getAdjacentEdges(int vertex) {
+		List<Edge> adjacentEdges = new ArrayList<>();
+
+		for (int w = 0; w < words; w++) {
+			long word = rows[vertex * words + w];
+
+			while (word != 0) {
+				adjacentEdges.add(new Edge(vertex, (w << 6) + Long.numberOfTrailingZeros(word)));
+				word &= word - 1;
+			}
+		}
+
+		return adjacentEdges;
+	}
+}
@@ -0,0 +1,229 @@
+package tsp.instance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/***
+ * Immutable instance storing the graph in compressed sparse row form. Neighbours
+ * of vertex v are kept sorted in neighbors[offsets[v] .. offsets[v + 1]), each
+ * undirected edge e is additionally stored once as (edges[2e], edges[2e + 1])
+ * with the lower vertex first.
+ *
+ * Memory is O(n + |E|) ints, so it is the representation to use for large
+ * sparse graphs. Primitive accessors allow iterating without allocating
+ * {@link Edge} objects.
+ */
+public class CompressedSparseRowInstance extends AbstractInstance {
+
+	private int[] offsets;
+
+	private int[] neighbors;
+
+	private int[] edges;
+
+	/**
+	 * Builds the instance from a flat array of edge endpoints, edge i being
+	 * (edgeEndpoints[2i], edgeEndpoints[2i + 1]). Self loops and duplicate edges
+	 * (in any direction) are dropped.
+	 */
+	public CompressedSparseRowInstance(int size, int[] edgeEndpoints, int edgeCount) {
+		super(size);
+
+		offsets = new int[size + 1];
+
+		for (int i = 0; i < edgeCount; i++) {
+			int from = edgeEndpoints[2 * i];
+			int to = edgeEndpoints[2 * i + 1];
+			checkVertex(from);
+			checkVertex(to);
+
+			if (from != to) {
+				offsets[from + 1]++;
+				offsets[to + 1]++;
+			}
+		}
+
+		for (int v = 0; v < size; v++) {
+			offsets[v + 1] += offsets[v];
+		}
+
+		neighbors = new int[offsets[size]];
+		int[] fillPositions = Arrays.copyOf(offsets, size);
+
+		for (int i = 0; i < edgeCount; i++) {
+			int from = edgeEndpoints[2 * i];
+			int to = edgeEndpoints[2 * i + 1];
+
+			if (from != to) {
+				neighbors[fillPositions[from]++] = to;
+				neighbors[fillPositions[to]++] = from;
+			}
+		}
+
+		removeDuplicateNeighbors();
+		buildEdges();
+	}
+
+	private CompressedSparseRowInstance(int size, int[] offsets, int[] neighbors) {
+		super(size);
+
+		this.offsets = offsets;
+		this.neighbors = neighbors;
+	}
+
+	/**
+	 * Wraps already built, sorted and duplicate-free adjacency arrays without
+	 * copying them.
+	 */
+	public static CompressedSparseRowInstance fromAdjacency(int size, int[] offsets, int[] neighbors) {
+		if (offsets.length != size + 1 || offsets[size] != neighbors.length) {
+			throw new IllegalArgumentException("Offsets do not match neighbour array");
+		}
+
+		CompressedSparseRowInstance instance = new CompressedSparseRowInstance(size, offsets, neighbors);
+		instance.buildEdges();
+
+		return instance;
+	}
+
+	/**
+	 * Converts any instance to the compressed sparse row form. Returns the given
+	 * instance if it already is one.
+	 */
+	public static CompressedSparseRowInstance of(AbstractInstance instance) {
+		if (instance instanceof CompressedSparseRowInstance) {
+			return (CompressedSparseRowInstance) instance;
+		}
+
+		int size = instance.getSize();
+		int[] offsets = new int[size + 1];
+		int[] neighbors = new int[Math.max(size, 16)];
+
+		for (int v = 0; v < size; v++) {
+			List<Edge> adjacentEdges = instance.getAdjacentEdges(v);
+
+			int position = offsets[v];
+			if (position + adjacentEdges.size() > neighbors.length) {
+				neighbors = Arrays.copyOf(neighbors, Math.max(2 * neighbors.length, position + adjacentEdges.size()));
+			}
+
+			for (Edge edge : adjacentEdges) {
+				if (edge.getTo() != v) {
+					neighbors[position++] = edge.getTo();
+				}
+			}
+
+			offsets[v + 1] = position;
+		}
+
+		CompressedSparseRowInstance converted = new CompressedSparseRowInstance(size, offsets,
+				Arrays.copyOf(neighbors, offsets[size]));
+		converted.removeDuplicateNeighbors();
+		converted.buildEdges();
+		converted.setName(instance.getName());
+
+		return converted;
+	}
+
+	private void removeDuplicateNeighbors() {
+		int write = 0;
+		int rowStart = 0;
+
+		for (int v = 0; v < size; v++) {
+			int rowEnd = offsets[v + 1];
+			Arrays.sort(neighbors, rowStart, rowEnd);
+
+			offsets[v] = write;
+			for (int read = rowStart; read < rowEnd; read++) {
+				if (read == rowStart || neighbors[read] != neighbors[read - 1]) {
+					neighbors[write++] = neighbors[read];
+				}
+			}
+
+			rowStart = rowEnd;
+		}
+		offsets[size] = write;
+
+		if (write != neighbors.length) {
+			neighbors = Arrays.copyOf(neighbors, write);
+		}
+	}
+
+	private void buildEdges() {
+		edges = new int[neighbors.length];
+
+		int edge = 0;
+		for (int v = 0; v < size; v++) {
+			for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+				if (neighbors[k] > v) {
+					edges[2 * edge] = v;
+					edges[2 * edge + 1] = neighbors[k];
+					edge++;
+				}
+			}
+		}
+	}
+
+	private void checkVertex(int vertex) {
+		if (vertex < 0 || vertex >= size) {
+			throw new IllegalArgumentException("Vertex " + vertex + " out of range [0, " + size + ")");
+		}
+	}
+
+	public int getDegree(int vertex) {
+		return offsets[vertex + 1] - offsets[vertex];
+	}
+
+	public int getNeighborAt(int vertex, int k) {
+		return neighbors[offsets[vertex] + k];
+	}
+
+	public int getEdgeCount() {
+		return edges.length / 2;
+	}
+
+	public int getEdgeFrom(int edge) {
+		return edges[2 * edge];
+	}
+
+	public int getEdgeTo(int edge) {
+		return edges[2 * edge + 1];
+	}
+
+	@Override
+	public void setConnected(int vertexA, int vertexB, boolean connected) {
+		throw new UnsupportedOperationException("Compressed sparse row instance is immutable");
+	}
+
+	@Override
+	public boolean areConnected(int vertexA, int vertexB) {
+		if (getDegree(vertexA) > getDegree(vertexB)) {
+			return Arrays.binarySearch(neighbors, offsets[vertexB], offsets[vertexB + 1], vertexA) >= 0;
+		}
+		return Arrays.binarySearch(neighbors, offsets[vertexA], offsets[vertexA + 1], vertexB) >= 0;
+	}
+
+	@Override
+	public List<Edge> getAllEdges() {
+		List<Edge> allEdges = new ArrayList<>(getEdgeCount());
+
+		for (int e = 0; e < getEdgeCount(); e++) {
+			allEdges.add(new Edge(getEdgeFrom(e), getEdgeTo(e)));
+		}
+
+		return allEdges;
+	}
+
+	@Override
+	public List<Edge> getAdjacentEdges(int vertex) {
+		List<Edge> adjacentEdges = new ArrayList<>(getDegree(vertex));
+
+		for (int k = offsets[vertex]; k < offsets[vertex + 1]; k++) {
+			adjacentEdges.add(new Edge(vertex, neighbors[k]));
+		}
+
+		return adjacentEdges;
+	}
+
+}
@@ -21,6 +21,7 @@ public class EdgeListInstance extends AbstractInstance {
 	public void setConnected(int vertexA, int vertexB, boolean connected) {
 		edges.get(Math.min(vertexA, vertexB)).add(Math.max(vertexA, vertexB));
 		edges.get(Math.max(vertexA, vertexB)).add(Math.min(vertexA, vertexB));
+		invalidateCompressedView();
 	}
 
 	@Override
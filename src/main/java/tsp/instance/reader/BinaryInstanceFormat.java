@@ -0,0 +1,36 @@
+package tsp.instance.reader;
+
+import java.nio.ByteOrder;
+
+/***
+ * Layout of the binary instance file written by {@link BinaryInstanceWriter}
+ * and loaded by {@link BinaryInstanceReader}. All values are little endian
+ * 32 bit ints:
+ *
+ * <pre>
+ * magic, version, vertex count (n), edge count (m), flags
+ * offsets      n + 1 ints
+ * neighbors    2m ints, each row sorted and without duplicates
+ * degrees      n ints, only if flags contain FLAG_DEGREES
+ * </pre>
+ *
+ * Offsets and neighbors are the arrays of
+ * {@link tsp.instance.CompressedSparseRowInstance}, so loading is a bulk copy
+ * without any parsing.
+ */
+public final class BinaryInstanceFormat {
+
+	// "GCSR" read as little endian int
+	public static final int MAGIC = 0x52534347;
+
+	public static final int VERSION = 1;
+
+	public static final int FLAG_DEGREES = 1;
+
+	public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+	public static final int HEADER_INTS = 5;
+
+	private BinaryInstanceFormat() {
+	}
+}
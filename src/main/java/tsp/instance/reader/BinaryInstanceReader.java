@@ -0,0 +1,122 @@
+package tsp.instance.reader;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import tsp.instance.CompressedSparseRowInstance;
+
+/***
+ * Loads instances written in {@link BinaryInstanceFormat}. The file is memory
+ * mapped and the adjacency arrays are bulk copied into a
+ * {@link CompressedSparseRowInstance}, nothing is parsed.
+ */
+public class BinaryInstanceReader {
+
+	// ints mapped at once, keeps every mapping below the 2 GB limit
+	private static final int WINDOW_INTS = 1 << 28;
+
+	public CompressedSparseRowInstance read(String fileName) throws IOException {
+		Path path = Paths.get(fileName);
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long fileSize = channel.size();
+			if (fileSize < 4L * BinaryInstanceFormat.HEADER_INTS) {
+				throw new IOException("File " + fileName + " is too short for an instance header");
+			}
+
+			int[] header = new int[BinaryInstanceFormat.HEADER_INTS];
+			readInts(channel, 0, header);
+
+			if (header[0] != BinaryInstanceFormat.MAGIC) {
+				throw new IOException("File " + fileName + " is not a binary instance");
+			}
+			if (header[1] != BinaryInstanceFormat.VERSION) {
+				throw new IOException("Unsupported binary instance version " + header[1]);
+			}
+
+			int size = header[2];
+			long neighborCount = 2L * header[3];
+			boolean hasDegrees = (header[4] & BinaryInstanceFormat.FLAG_DEGREES) != 0;
+
+			long expectedSize = 4L * (BinaryInstanceFormat.HEADER_INTS + size + 1 + neighborCount
+					+ (hasDegrees ? size : 0));
+			if (size < 0 || neighborCount < 0 || neighborCount > Integer.MAX_VALUE || fileSize != expectedSize) {
+				throw new IOException("Corrupted binary instance " + fileName);
+			}
+
+			long position = 4L * BinaryInstanceFormat.HEADER_INTS;
+			int[] offsets = new int[size + 1];
+			readInts(channel, position, offsets);
+			position += 4L * offsets.length;
+
+			int[] neighbors = new int[(int) neighborCount];
+			readInts(channel, position, neighbors);
+
+			// degrees are derivable from offsets and are only there for other consumers
+			checkAdjacency(size, offsets, neighbors, fileName);
+
+			CompressedSparseRowInstance instance = CompressedSparseRowInstance.fromAdjacency(size, offsets,
+					neighbors);
+			instance.setName(path.getFileName().toString());
+
+			return instance;
+		}
+	}
+
+	private void readInts(FileChannel channel, long position, int[] target) throws IOException {
+		for (int read = 0; read < target.length; read += WINDOW_INTS) {
+			int count = Math.min(WINDOW_INTS, target.length - read);
+
+			IntBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position + 4L * read, 4L * count)
+					.order(BinaryInstanceFormat.BYTE_ORDER).asIntBuffer();
+			window.get(target, read, count);
+		}
+	}
+
+	private void checkAdjacency(int size, int[] offsets, int[] neighbors, String fileName) throws IOException {
+		if (offsets[0] != 0 || offsets[size] != neighbors.length) {
+			throw new IOException("Corrupted offsets in binary instance " + fileName);
+		}
+
+		for (int v = 0; v < size; v++) {
+			if (offsets[v] > offsets[v + 1]) {
+				throw new IOException("Corrupted offsets in binary instance " + fileName);
+			}
+		}
+
+		// rows have to be strictly ascending and loop free, the compressed instance relies on it
+		for (int v = 0; v < size; v++) {
+			for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+				int neighbor = neighbors[i];
+				if (neighbor < 0 || neighbor >= size) {
+					throw new IOException("Neighbour out of range in binary instance " + fileName);
+				}
+				if (neighbor == v) {
+					throw new IOException("Self loop at vertex " + v + " in binary instance " + fileName);
+				}
+				if (i > offsets[v] && neighbor <= neighbors[i - 1]) {
+					throw new IOException("Unsorted neighbours of vertex " + v + " in binary instance " + fileName);
+				}
+			}
+		}
+
+		// every edge has to be stored in both rows, the compressed instance keeps only one direction;
+		// visiting rows in order, the vertices mentioning u appear in row u in the same order
+		int[] cursors = Arrays.copyOf(offsets, size);
+		for (int v = 0; v < size; v++) {
+			for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+				int neighbor = neighbors[i];
+				int cursor = cursors[neighbor]++;
+				if (cursor == offsets[neighbor + 1] || neighbors[cursor] != v) {
+					throw new IOException("Edge " + v + " - " + neighbor + " is missing in the row of vertex "
+							+ neighbor + " in binary instance " + fileName);
+				}
+			}
+		}
+	}
+}
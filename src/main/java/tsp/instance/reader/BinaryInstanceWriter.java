@@ -0,0 +1,111 @@
+package tsp.instance.reader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import tsp.instance.AbstractInstance;
+import tsp.instance.CompressedSparseRowInstance;
+
+/***
+ * Writes instances in {@link BinaryInstanceFormat}. Run as a program to convert
+ * a DIMACS file:
+ *
+ * <pre>
+ * BinaryInstanceWriter input.col output.bin [--degrees]
+ * </pre>
+ */
+public class BinaryInstanceWriter {
+
+	private static final int BUFFER_SIZE = 1024 * 1024;
+
+	private boolean writeDegrees;
+
+	public BinaryInstanceWriter() {
+		this(false);
+	}
+
+	public BinaryInstanceWriter(boolean writeDegrees) {
+		this.writeDegrees = writeDegrees;
+	}
+
+	public void write(AbstractInstance instance, String fileName) throws IOException {
+		CompressedSparseRowInstance graph = instance.getCompressedView();
+		int size = graph.getSize();
+
+		try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			IntWriter writer = new IntWriter(channel);
+
+			writer.write(BinaryInstanceFormat.MAGIC);
+			writer.write(BinaryInstanceFormat.VERSION);
+			writer.write(size);
+			writer.write(graph.getEdgeCount());
+			writer.write(writeDegrees ? BinaryInstanceFormat.FLAG_DEGREES : 0);
+
+			int offset = 0;
+			writer.write(offset);
+			for (int v = 0; v < size; v++) {
+				offset += graph.getDegree(v);
+				writer.write(offset);
+			}
+
+			for (int v = 0; v < size; v++) {
+				for (int k = 0; k < graph.getDegree(v); k++) {
+					writer.write(graph.getNeighborAt(v, k));
+				}
+			}
+
+			if (writeDegrees) {
+				for (int v = 0; v < size; v++) {
+					writer.write(graph.getDegree(v));
+				}
+			}
+
+			writer.flush();
+		}
+	}
+
+	private static class IntWriter {
+
+		private FileChannel channel;
+		private ByteBuffer buffer;
+		private IntBuffer ints;
+
+		IntWriter(FileChannel channel) {
+			this.channel = channel;
+			this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BinaryInstanceFormat.BYTE_ORDER);
+			this.ints = buffer.asIntBuffer();
+		}
+
+		void write(int value) throws IOException {
+			if (!ints.hasRemaining()) {
+				flush();
+			}
+			ints.put(value);
+		}
+
+		void flush() throws IOException {
+			// ints are written through the view, so the byte buffer is still at position 0
+			buffer.limit(4 * ints.position());
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			buffer.clear();
+			ints.clear();
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("Usage: BinaryInstanceWriter input.col output.bin [--degrees]");
+			System.exit(1);
+		}
+
+		AbstractInstance instance = new MappedInstanceFileReader(Double.MAX_VALUE).read(args[0]);
+		new BinaryInstanceWriter(args.length > 2 && "--degrees".equals(args[2])).write(instance, args[1]);
+	}
+}
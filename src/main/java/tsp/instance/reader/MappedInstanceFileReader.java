@@ -0,0 +1,210 @@
+package tsp.instance.reader;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import tsp.instance.AbstractInstance;
+import tsp.instance.BitMatrixInstance;
+import tsp.instance.CompressedSparseRowInstance;
+
+/***
+ * Fast reader for DIMACS instances (same format as {@link InstanceFileReader}).
+ * The file is memory mapped in windows and scanned byte by byte, numbers are
+ * parsed in place without creating strings. Storage for the edges is sized from
+ * the "p edge" header. Comment lines and unknown lines are skipped, duplicate
+ * edges and self loops are dropped.
+ *
+ * Graphs with density of at least the dense threshold (and not larger than
+ * {@link #DENSE_SIZE_LIMIT} vertices) are returned as
+ * {@link BitMatrixInstance}, all others as
+ * {@link CompressedSparseRowInstance}.
+ */
+public class MappedInstanceFileReader {
+
+	// bit rows take less memory than compressed rows from about 2% density on
+	public static final double DEFAULT_DENSE_THRESHOLD = 0.1;
+
+	// bit matrix of this size takes 32 MB
+	public static final int DENSE_SIZE_LIMIT = 16384;
+
+	private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+	private static final int CHUNK_SIZE = 64 * 1024;
+
+	private double denseThreshold;
+
+	public MappedInstanceFileReader() {
+		this(DEFAULT_DENSE_THRESHOLD);
+	}
+
+	/**
+	 * @param denseThreshold
+	 *            minimal density (|E| / (n (n - 1) / 2)) for which the dense
+	 *            representation is used, above 1 to always use the sparse one
+	 */
+	public MappedInstanceFileReader(double denseThreshold) {
+		this.denseThreshold = denseThreshold;
+	}
+
+	public AbstractInstance read(String fileName) throws IOException {
+		Path path = Paths.get(fileName);
+
+		Parser parser = new Parser();
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long fileSize = channel.size();
+			byte[] chunk = new byte[CHUNK_SIZE];
+
+			for (long position = 0; position < fileSize; position += WINDOW_SIZE) {
+				MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+						Math.min(WINDOW_SIZE, fileSize - position));
+
+				while (window.hasRemaining()) {
+					int length = Math.min(chunk.length, window.remaining());
+					window.get(chunk, 0, length);
+					parser.parse(chunk, length);
+				}
+			}
+		}
+		parser.endOfLine();
+
+		if (parser.size < 0) {
+			throw new IOException("Missing \"p edge\" line in " + fileName);
+		}
+
+		AbstractInstance instance = createInstance(
+				new CompressedSparseRowInstance(parser.size, parser.edgeEndpoints, parser.edgeCount));
+		instance.setName(path.getFileName().toString());
+
+		return instance;
+	}
+
+	private AbstractInstance createInstance(CompressedSparseRowInstance sparse) {
+		int size = sparse.getSize();
+		if (size < 2 || size > DENSE_SIZE_LIMIT) {
+			return sparse;
+		}
+
+		double density = sparse.getEdgeCount() / (size * (size - 1) / 2.0);
+		if (density < denseThreshold) {
+			return sparse;
+		}
+
+		// the parsed rows become the compressed view every algorithm component reads
+		return BitMatrixInstance.of(sparse);
+	}
+
+	/**
+	 * Line state machine. Only numbers of "p" and "e" lines are collected, any
+	 * other token (like the "edge" format name) is ignored.
+	 */
+	private static class Parser {
+
+		private static final int MAX_FIELDS = 2;
+
+		private int size = -1;
+		private int[] edgeEndpoints = new int[0];
+		private int edgeCount = 0;
+
+		private int lineNumber = 1;
+		private byte lineType = 0;
+		private boolean lineStart = true;
+
+		private long[] fields = new long[MAX_FIELDS];
+		private int fieldCount = 0;
+		private long number = 0;
+		private boolean inNumber = false;
+		private boolean inWord = false;
+
+		void parse(byte[] bytes, int length) throws IOException {
+			for (int i = 0; i < length; i++) {
+				byte b = bytes[i];
+
+				if (b == '\n') {
+					endOfLine();
+				} else if (lineType == 'c' || lineType == '?') {
+					// skipped line
+				} else if (b == ' ' || b == '\t' || b == '\r') {
+					endOfToken();
+				} else if (lineStart) {
+					lineStart = false;
+					lineType = b == 'p' || b == 'e' || b == 'c' ? b : (byte) '?';
+					inWord = true;
+				} else if (b >= '0' && b <= '9' && !inWord) {
+					number = number * 10 + (b - '0');
+					if (number > Integer.MAX_VALUE) {
+						throw new IOException("Number too large in line " + lineNumber);
+					}
+					inNumber = true;
+				} else if (lineType == 'e') {
+					throw new IOException("Malformed edge in line " + lineNumber);
+				} else {
+					number = 0;
+					inNumber = false;
+					inWord = true;
+				}
+			}
+		}
+
+		private void endOfToken() {
+			if (inNumber && fieldCount < MAX_FIELDS) {
+				fields[fieldCount++] = number;
+			}
+			number = 0;
+			inNumber = false;
+			inWord = false;
+		}
+
+		void endOfLine() throws IOException {
+			endOfToken();
+
+			if (lineType == 'p') {
+				readHeader();
+			} else if (lineType == 'e') {
+				readEdge();
+			}
+
+			lineNumber++;
+			lineType = 0;
+			lineStart = true;
+			fieldCount = 0;
+		}
+
+		private void readHeader() throws IOException {
+			if (fieldCount < 1) {
+				throw new IOException("Missing vertex count in line " + lineNumber);
+			}
+			size = (int) fields[0];
+
+			long declaredEdges = fieldCount > 1 ? fields[1] : 0;
+			edgeEndpoints = new int[(int) Math.min(2 * declaredEdges, Integer.MAX_VALUE - 8)];
+		}
+
+		private void readEdge() throws IOException {
+			if (size < 0) {
+				throw new IOException("Edge before \"p edge\" line in line " + lineNumber);
+			}
+			if (fieldCount < 2) {
+				throw new IOException("Malformed edge in line " + lineNumber);
+			}
+
+			int from = (int) fields[0] - 1;
+			int to = (int) fields[1] - 1;
+			if (from < 0 || from >= size || to < 0 || to >= size) {
+				throw new IOException("Vertex out of range in line " + lineNumber);
+			}
+
+			if (2 * edgeCount + 2 > edgeEndpoints.length) {
+				// header edge count was too small
+				edgeEndpoints = Arrays.copyOf(edgeEndpoints, Math.max(16, 2 * edgeEndpoints.length));
+			}
+			edgeEndpoints[2 * edgeCount] = from;
+			edgeEndpoints[2 * edgeCount + 1] = to;
+			edgeCount++;
+		}
+	}
+}